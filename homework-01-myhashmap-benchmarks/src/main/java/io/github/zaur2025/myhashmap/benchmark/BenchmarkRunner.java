@@ -0,0 +1,44 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Set;
+
+// Точка входа benchmarks.jar. Принимает те же аргументы, что и JMH, но по умолчанию
+// сохраняет результаты в JSON (jmh-result-<дата-время>.json), чтобы сравнивать их между коммитами.
+// Свой файл и формат задаются обычными -rf и -rff; с -rf без -rff расширение файла берётся из формата.
+public final class BenchmarkRunner {
+
+    // Аргументы, для которых запуск бенчмарков не нужен (справка, списки)
+    private static final Set<String> INFO_OPTIONS = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String arg : args) {
+            if (INFO_OPTIONS.contains(arg)) {
+                org.openjdk.jmh.Main.main(args);
+                return;
+            }
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        ResultFormatType format = commandLine.getResultFormat().orElse(ResultFormatType.JSON);
+        options.resultFormat(format);
+        if (!commandLine.getResult().hasValue()) {
+            // Расширение по формату, как у файла JMH по умолчанию: .json, .csv, .scsv, .text
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.result("jmh-result-" + timestamp + "." + format.toString().toLowerCase(Locale.ROOT));
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+// Ключ с намеренно плохим hashCode: 16 соседних ID дают одинаковый хэш
+final class CollidingKey implements Comparable<CollidingKey> {
+
+    private final long id;
+
+    CollidingKey(long id) {
+        this.id = id;
+    }
+
+    @Override
+    public int compareTo(CollidingKey other) {
+        return Long.compare(id, other.id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CollidingKey other && other.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id >>> 4);
+    }
+}
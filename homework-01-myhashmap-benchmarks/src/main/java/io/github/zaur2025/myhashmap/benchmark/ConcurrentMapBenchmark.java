@@ -0,0 +1,51 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.ConcurrentMyHashMap;
+import io.github.zaur2025.myhashmap.MyMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Пропускная способность общей таблицы при нагрузке 90% чтений / 10% записей.
+// Количество потоков задаётся параметром JMH -t, например: -t 1, -t 8, -t 32
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentMapBenchmark {
+
+    private static final int KEYS = 1_000_000;
+
+    // myhashmap - ConcurrentMyHashMap, jdk - java.util.concurrent.ConcurrentHashMap
+    @Param({"myhashmap", "jdk"})
+    private String implementation;
+
+    private MyMap<Integer, Integer> myMap;
+    private ConcurrentHashMap<Integer, Integer> jdkMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myMap = new ConcurrentMyHashMap<>();
+        jdkMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            myMap.put(i, i);
+            jdkMap.put(i, i);
+        }
+    }
+
+    @Benchmark
+    public Integer readHeavy() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(KEYS);
+        boolean write = random.nextInt(10) == 0;
+        if ("jdk".equals(implementation)) {
+            return write ? jdkMap.put(key, key) : jdkMap.get(key);
+        }
+        return write ? myMap.put(key, key) : myMap.get(key);
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.filter.BloomFilter;
+import io.github.zaur2025.myhashmap.filter.CuckooFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Проверка принадлежности в фильтрах: отсутствующие ключи (основной случай - новый email)
+// и присутствующие. Фильтр заполняется size элементами с долей ложных срабатываний 1%.
+// Многопоточный вариант: -t <потоков>, фильтры читаются без блокировок.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FilterBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"1000000", "100000000"})
+    private long size;
+
+    @Param({"bloom", "cuckoo"})
+    private String filter;
+
+    private BloomFilter bloom;
+    private CuckooFilter cuckoo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("bloom".equals(filter)) {
+            bloom = new BloomFilter(size, 0.01);
+            for (long id = 0; id < size; id++) {
+                bloom.put(id);
+            }
+        } else {
+            cuckoo = new CuckooFilter(size, 0.01);
+            for (long id = 0; id < size; id++) {
+                cuckoo.put(id);
+            }
+        }
+    }
+
+    // Номер ключа в потоке: у каждого потока свой счётчик
+    @State(Scope.Thread)
+    public static class Cursor {
+        long next;
+    }
+
+    @Benchmark
+    public boolean queryAbsent(Cursor cursor) {
+        long id = size + (cursor.next++ & (LOOKUPS - 1)) * 7919;
+        return bloom != null ? bloom.mightContain(id) : cuckoo.mightContain(id);
+    }
+
+    @Benchmark
+    public boolean queryPresent(Cursor cursor) {
+        long id = (cursor.next++ * 7919) % size;
+        return bloom != null ? bloom.mightContain(id) : cuckoo.mightContain(id);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.filter.BloomFilter;
+import io.github.zaur2025.myhashmap.filter.CuckooFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Вставка size элементов в пустой фильтр (доля ложных срабатываний 1%).
+// Пропускная способность вставки - size / время одного запуска.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FilterBuildBenchmark {
+
+    @Param({"1000000", "100000000"})
+    private long size;
+
+    @Param({"bloom", "cuckoo"})
+    private String filter;
+
+    @Benchmark
+    public Object insert() {
+        if ("bloom".equals(filter)) {
+            BloomFilter bloom = new BloomFilter(size, 0.01);
+            for (long id = 0; id < size; id++) {
+                bloom.put(id);
+            }
+            return bloom;
+        }
+        CuckooFilter cuckoo = new CuckooFilter(size, 0.01);
+        for (long id = 0; id < size; id++) {
+            cuckoo.put(id);
+        }
+        return cuckoo;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.MyHashMap;
+import io.github.zaur2025.myhashmap.MyMap;
+import io.github.zaur2025.myhashmap.RobinHoodHashMap;
+import io.github.zaur2025.myhashmap.SwissHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Задержка get в зависимости от количества элементов.
+// При автоматическом увеличении таблицы время должно оставаться примерно постоянным.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GetLatencyBenchmark {
+
+    // Количество ключей для поиска в одной итерации
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    // chained - MyHashMap с цепочками, robinhood - открытая адресация,
+    // frozen - MyHashMap.freeze() с совершенной хэш-функцией, swiss - группы по 8 с управляющими байтами
+    @Param({"chained", "robinhood", "frozen", "swiss"})
+    private String implementation;
+
+    private MyMap<Long, Long> map;
+    private Long[] lookupKeys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = switch (implementation) {
+            case "robinhood" -> new RobinHoodHashMap<>();
+            case "swiss" -> new SwissHashMap<>();
+            default -> new MyHashMap<>();
+        };
+        for (long i = 0; i < size; i++) {
+            map.put(i, i);
+        }
+        if ("frozen".equals(implementation)) {
+            map = ((MyHashMap<Long, Long>) map).freeze();
+        }
+
+        // Ключи для поиска выбираются случайно, чтобы не попадать всё время в одни и те же ячейки
+        Random random = new Random(42);
+        lookupKeys = new Long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupKeys[i] = (long) random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Long get() {
+        Long key = lookupKeys[cursor];
+        cursor = (cursor + 1) & (LOOKUPS - 1);
+        return map.get(key);
+    }
+}
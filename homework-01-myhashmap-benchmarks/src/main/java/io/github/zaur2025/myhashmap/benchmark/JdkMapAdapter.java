@@ -0,0 +1,36 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.MyMap;
+
+import java.util.HashMap;
+
+// java.util.HashMap как MyMap - точка отсчёта для сравнения
+final class JdkMapAdapter<K, V> implements MyMap<K, V> {
+
+    private final HashMap<K, V> map = new HashMap<>();
+
+    @Override
+    public V put(K key, V value) {
+        return map.put(key, value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return map.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import java.util.Random;
+
+// Виды ключей для бенчмарков
+public enum KeyType {
+
+    // Строки вида email, hashCode вычисляется один раз и кэшируется в String
+    STRING {
+        @Override
+        Object key(long id) {
+            return "user" + id + "@mail.ru";
+        }
+    },
+
+    // Упакованные Long со случайными значениями
+    LONG {
+        @Override
+        Object key(long id) {
+            return id;
+        }
+    },
+
+    // Comparable ключи, у которых по 16 ключей делят один hashCode.
+    // ID идут подряд, чтобы группы одинаковых хэшей были полными
+    COLLIDING {
+        @Override
+        Object key(long id) {
+            return new CollidingKey(id);
+        }
+
+        @Override
+        Object[] keys(int count, long seed) {
+            Object[] keys = new Object[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = key(i);
+            }
+            return keys;
+        }
+    };
+
+    abstract Object key(long id);
+
+    // count различных ключей со случайными ID
+    Object[] keys(int count, long seed) {
+        long[] ids = new Random(seed).longs(count * 2L, 0, Long.MAX_VALUE).distinct().limit(count).toArray();
+        Object[] keys = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keys[i] = key(ids[i]);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.MyHashMap;
+import io.github.zaur2025.myhashmap.MyMap;
+import io.github.zaur2025.myhashmap.RobinHoodHashMap;
+import io.github.zaur2025.myhashmap.SwissHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Время одной операции put/get/remove и смешанной нагрузки для разных реализаций,
+// видов ключей и размеров. Размер таблицы во время измерения не меняется:
+// put обновляет существующий ключ, remove сразу возвращает ключ на место.
+//
+// Состояние у каждого потока своё, поэтому с -t N измеряются N независимых таблиц
+// (общую таблицу под нагрузкой из нескольких потоков измеряет ConcurrentMapBenchmark).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class MapWorkloadBenchmark {
+
+    // Длина заранее подготовленной последовательности операций
+    private static final int OPERATIONS = 1 << 16;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"STRING", "LONG", "COLLIDING"})
+    private KeyType keyType;
+
+    // myhashmap - MyHashMap, robinhood - RobinHoodHashMap, swiss - SwissHashMap, jdk - java.util.HashMap
+    @Param({"myhashmap", "robinhood", "swiss", "jdk"})
+    private String implementation;
+
+    private MyMap<Object, Object> map;
+    private Object[] keys;
+    // Ключи, которых нет в таблице
+    private Object[] absentKeys;
+    // Индексы ключей и виды операций для смешанной нагрузки
+    private int[] order;
+    private byte[] operations;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = switch (implementation) {
+            case "robinhood" -> new RobinHoodHashMap<>();
+            case "swiss" -> new SwissHashMap<>();
+            case "jdk" -> new JdkMapAdapter<>();
+            default -> new MyHashMap<>();
+        };
+        Object[] allKeys = keyType.keys(size + OPERATIONS, 42);
+        keys = new Object[size];
+        System.arraycopy(allKeys, 0, keys, 0, size);
+        absentKeys = new Object[OPERATIONS];
+        System.arraycopy(allKeys, size, absentKeys, 0, OPERATIONS);
+        for (Object key : keys) {
+            map.put(key, key);
+        }
+
+        // Смешанная нагрузка: 70% успешных get, 10% get отсутствующего ключа, 10% put, 10% remove
+        Random random = new Random(7);
+        order = new int[OPERATIONS];
+        operations = new byte[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            order[i] = random.nextInt(size);
+            operations[i] = (byte) random.nextInt(10);
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return map.get(keys[order[next()]]);
+    }
+
+    @Benchmark
+    public Object getAbsent() {
+        return map.get(absentKeys[next()]);
+    }
+
+    @Benchmark
+    public Object put() {
+        Object key = keys[order[next()]];
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    public Object removeAndPut() {
+        Object key = keys[order[next()]];
+        Object value = map.remove(key);
+        map.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public Object mixed() {
+        int i = next();
+        Object key = keys[order[i]];
+        int operation = operations[i];
+        if (operation < 7) {
+            return map.get(key);
+        }
+        if (operation == 7) {
+            return map.get(absentKeys[i]);
+        }
+        if (operation == 8) {
+            return map.put(key, key);
+        }
+        Object value = map.remove(key);
+        map.put(key, value);
+        return value;
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1) & (OPERATIONS - 1);
+        return i;
+    }
+}
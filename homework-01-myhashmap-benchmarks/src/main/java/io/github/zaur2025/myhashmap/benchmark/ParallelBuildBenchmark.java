@@ -0,0 +1,68 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Загрузка выгрузки пользователей (ID -> email) в MyHashMap:
+// последовательные put против parallelBuild с разным числом потоков пула fork-join
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ParallelBuildBenchmark {
+
+    @Param({"1000000", "20000000"})
+    private int size;
+
+    // 0 - последовательные put, иначе количество потоков parallelBuild
+    @Param({"0", "1", "4", "16"})
+    private int threads;
+
+    private List<UserRow> rows;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            rows.add(new UserRow(id, "user" + id + "@mail.ru"));
+        }
+        pool = threads > 0 ? new ForkJoinPool(threads) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public MyHashMap<Long, String> build() {
+        if (pool == null) {
+            MyHashMap<Long, String> map = new MyHashMap<>();
+            for (UserRow row : rows) {
+                map.put(row.id, row.email);
+            }
+            return map;
+        }
+        return MyHashMap.parallelBuild(rows, row -> row.id, row -> row.email, pool);
+    }
+
+    private static final class UserRow {
+        final Long id;
+        final String email;
+
+        UserRow(long id, String email) {
+            this.id = id;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.zaur2025.myhashmap.benchmark;
+
+import io.github.zaur2025.myhashmap.MyHashMap;
+import io.github.zaur2025.myhashmap.primitive.LongLongHashMap;
+import io.github.zaur2025.myhashmap.primitive.LongObjectHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Сравнение таблиц с ключами long (ID пользователей) и обобщённых MyHashMap<Long, V> / java.util.HashMap.
+// Ключи хранятся как long[], поэтому упаковка в Long для обобщённых таблиц входит в измерение,
+// как и у вызывающего кода, который работает с примитивными ID.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PrimitiveMapBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private MyHashMap<Long, Long> myHashMap;
+    private HashMap<Long, Long> javaHashMap;
+    private LongLongHashMap longLongMap;
+    private LongObjectHashMap<Long> longObjectMap;
+
+    private long[] lookupKeys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        myHashMap = new MyHashMap<>();
+        javaHashMap = new HashMap<>();
+        longLongMap = new LongLongHashMap();
+        longObjectMap = new LongObjectHashMap<>();
+
+        // ID как у пользователей в БД: последовательные, начиная с 1
+        for (long id = 1; id <= size; id++) {
+            Long boxed = id;
+            myHashMap.put(boxed, boxed);
+            javaHashMap.put(boxed, boxed);
+            longLongMap.put(id, id);
+            longObjectMap.put(id, boxed);
+        }
+
+        Random random = new Random(42);
+        lookupKeys = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupKeys[i] = 1 + random.nextInt(size);
+        }
+    }
+
+    private long nextKey() {
+        long key = lookupKeys[cursor];
+        cursor = (cursor + 1) & (LOOKUPS - 1);
+        return key;
+    }
+
+    @Benchmark
+    public Long getMyHashMap() {
+        return myHashMap.get(nextKey());
+    }
+
+    @Benchmark
+    public Long getJavaHashMap() {
+        return javaHashMap.get(nextKey());
+    }
+
+    @Benchmark
+    public long getLongLongMap() {
+        return longLongMap.get(nextKey());
+    }
+
+    @Benchmark
+    public Long getLongObjectMap() {
+        return longObjectMap.get(nextKey());
+    }
+
+    // Обновление существующего ключа: у примитивных таблиц без аллокаций
+    @Benchmark
+    public long putLongLongMap() {
+        long key = nextKey();
+        return longLongMap.put(key, key);
+    }
+
+    @Benchmark
+    public Long putMyHashMap() {
+        long key = nextKey();
+        return myHashMap.put(key, key);
+    }
+
+    @Benchmark
+    public Long putJavaHashMap() {
+        long key = nextKey();
+        return javaHashMap.put(key, key);
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.zaur2025.myhashmap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Общая часть таблиц, которые хранят ключи и значения в ByteBuffer вне кучи.
+// Ключи и значения кодируются ByteCodec в ячейки фиксированного размера:
+// [хэш ключа: 4 байта][ключ: keyCodec.size()][значение: valueCodec.size()].
+// Хэш 0 означает пустую ячейку. Открытая адресация с линейным пробированием, удаление обратным сдвигом.
+// Таблица делится на буферы одинакового размера; откуда берутся буферы (память или файл),
+// решают наследники.
+abstract class AbstractOffHeapHashMap<K, V> implements MyMap<K, V>, AutoCloseable {
+
+    static final float LOAD_FACTOR = 0.7f;
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+    // Максимальный размер одного буфера
+    static final int MAX_SEGMENT_BYTES = 1 << 30;
+    static final int HASH_BYTES = Integer.BYTES;
+
+    final ByteCodec<K> keyCodec;
+    final ByteCodec<V> valueCodec;
+    final int keySize;
+    final int slotSize;
+
+    // Закодированный ключ текущей операции (в куче, переиспользуется)
+    private final ByteBuffer keyBuffer;
+    // Буфер для копирования ячейки при сдвиге и увеличении таблицы
+    private final byte[] slotBytes;
+    private final ByteBuffer slotBuffer;
+
+    ByteBuffer[] segments;
+    int capacity;
+    int size;
+    private int mask;
+    private int segmentShift;
+    private int segmentMask;
+    private int threshold;
+
+    AbstractOffHeapHashMap(ByteCodec<K> keyCodec, ByteCodec<V> valueCodec) {
+        this.keyCodec = Objects.requireNonNull(keyCodec, "keyCodec не может быть null");
+        this.valueCodec = Objects.requireNonNull(valueCodec, "valueCodec не может быть null");
+        this.keySize = keyCodec.size();
+        this.slotSize = HASH_BYTES + keySize + valueCodec.size();
+        this.keyBuffer = ByteBuffer.allocate(keySize);
+        this.slotBytes = new byte[slotSize];
+        this.slotBuffer = ByteBuffer.wrap(slotBytes);
+    }
+
+    // Новые буферы под таблицу: count буферов по segmentBytes байт, заполненные нулями
+    abstract ByteBuffer[] allocateSegments(int count, int segmentBytes);
+
+    // Вызывается после переноса всех элементов в буферы из allocateSegments; может заменить segments
+    // равными им буферами (MappedHashMap отображает файл заново)
+    abstract void replaceSegments(ByteBuffer[] oldSegments);
+
+    // Вызывается перед каждым изменением содержимого таблицы
+    void beforeUpdate() {
+    }
+
+    // Освобождение памяти или файла; без checked-исключений, чтобы try-with-resources их не требовал
+    @Override
+    public abstract void close();
+
+    @Override
+    public V put(K key, V value) {
+        ensureOpen();
+        if (key == null) return null;
+        Objects.requireNonNull(value, "Значение не может быть null");
+
+        int hash = encodeKey(key);
+        int slot = hash & mask;
+        while (true) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            int slotHash = segment.getInt(offset);
+            if (slotHash == 0) {
+                beforeUpdate();
+                // Хэш пишется последним: до этого ячейка остаётся пустой для любого читателя буфера
+                segment.put(offset + HASH_BYTES, keyBuffer.array(), 0, keySize);
+                valueCodec.write(segment, offset + HASH_BYTES + keySize, value);
+                segment.putInt(offset, hash);
+                if (++size > threshold) {
+                    rehash(capacity * 2, false);
+                }
+                return null;
+            }
+            if (slotHash == hash && keyEquals(segment, offset, keyBuffer, 0)) {
+                beforeUpdate();
+                V oldValue = valueCodec.read(segment, offset + HASH_BYTES + keySize);
+                valueCodec.write(segment, offset + HASH_BYTES + keySize, value);
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        ensureOpen();
+        if (key == null) return null;
+
+        int slot = findSlot(encodeKey((K) key));
+        return slot >= 0 ? valueCodec.read(segment(slot), offset(slot) + HASH_BYTES + keySize) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean containsKey(Object key) {
+        ensureOpen();
+        return key != null && findSlot(encodeKey((K) key)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        ensureOpen();
+        if (key == null) return null;
+
+        int slot = findSlot(encodeKey((K) key));
+        if (slot < 0) {
+            return null;
+        }
+        beforeUpdate();
+        V oldValue = valueCodec.read(segment(slot), offset(slot) + HASH_BYTES + keySize);
+
+        // Удаление обратным сдвигом: элементы после освободившейся ячейки подтягиваются назад
+        int gap = slot;
+        int index = (gap + 1) & mask;
+        int hash;
+        while ((hash = segment(index).getInt(offset(index))) != 0) {
+            int ideal = hash & mask;
+            if (((index - ideal) & mask) >= ((index - gap) & mask)) {
+                segment(index).get(offset(index), slotBytes);
+                segment(gap).put(offset(gap), slotBytes);
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        segment(gap).putInt(offset(gap), 0);
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Объём памяти вне кучи, занятый ячейками таблицы
+    public long offHeapBytes() {
+        return (long) capacity * slotSize;
+    }
+
+    void ensureOpen() {
+        if (segments == null) {
+            throw new IllegalStateException("Таблица закрыта");
+        }
+    }
+
+    // Новая пустая таблица не меньше чем на expectedSize элементов
+    void initTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Ожидаемый размер не может быть отрицательным: " + expectedSize);
+        }
+        allocate(tableSizeFor((long) Math.ceil(Math.max(expectedSize, 2) / (double) LOAD_FACTOR)));
+    }
+
+    // Подключение уже заполненных буферов (например, отображённых из файла)
+    void attachTable(ByteBuffer[] existing, int existingCapacity, int existingSize) {
+        segments = existing;
+        size = existingSize;
+        setLayout(existingCapacity);
+    }
+
+    // Количество буферов и их размер для таблицы из tableCapacity ячеек
+    final int slotsPerSegment(int tableCapacity) {
+        return Math.min(tableCapacity, Integer.highestOneBit(MAX_SEGMENT_BYTES / slotSize));
+    }
+
+    // Перенос всех элементов в новые буферы из newCapacity ячеек.
+    // С deduplicate = true повторные копии одного ключа отбрасываются, а размер пересчитывается.
+    void rehash(int newCapacity, boolean deduplicate) {
+        if (newCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Достигнут максимальный размер таблицы");
+        }
+        ByteBuffer[] oldSegments = segments;
+        int oldCapacity = capacity;
+        int oldShift = segmentShift;
+        int oldSegmentMask = segmentMask;
+
+        allocate(newCapacity);
+        int count = 0;
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            ByteBuffer oldSegment = oldSegments[slot >>> oldShift];
+            int oldOffset = (slot & oldSegmentMask) * slotSize;
+            int hash = oldSegment.getInt(oldOffset);
+            if (hash == 0) {
+                continue;
+            }
+            oldSegment.get(oldOffset, slotBytes);
+            int index = hash & mask;
+            int slotHash;
+            boolean duplicate = false;
+            while ((slotHash = segment(index).getInt(offset(index))) != 0) {
+                if (deduplicate && slotHash == hash
+                        && keyEquals(segment(index), offset(index), slotBuffer, HASH_BYTES)) {
+                    duplicate = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (!duplicate) {
+                segment(index).put(offset(index), slotBytes);
+                count++;
+            }
+        }
+        if (deduplicate) {
+            size = count;
+        }
+        replaceSegments(oldSegments);
+    }
+
+    private void allocate(int newCapacity) {
+        int slotsPerSegment = slotsPerSegment(newCapacity);
+        segments = allocateSegments(newCapacity / slotsPerSegment, slotsPerSegment * slotSize);
+        setLayout(newCapacity);
+    }
+
+    private void setLayout(int newCapacity) {
+        int slotsPerSegment = slotsPerSegment(newCapacity);
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        segmentShift = Integer.numberOfTrailingZeros(slotsPerSegment);
+        segmentMask = slotsPerSegment - 1;
+        threshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    // Кодирует ключ в keyBuffer и возвращает его хэш (никогда не 0)
+    private int encodeKey(K key) {
+        Arrays.fill(keyBuffer.array(), (byte) 0);
+        keyCodec.write(keyBuffer, 0, key);
+        return hashBytes(keyBuffer, keySize);
+    }
+
+    private int findSlot(int hash) {
+        int slot = hash & mask;
+        while (true) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            int slotHash = segment.getInt(offset);
+            if (slotHash == 0) {
+                return -1;
+            }
+            if (slotHash == hash && keyEquals(segment, offset, keyBuffer, 0)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // Сравнение ключа в ячейке с ключом, лежащим в key по смещению keyOffset
+    private boolean keyEquals(ByteBuffer segment, int offset, ByteBuffer key, int keyOffset) {
+        int slotKeyOffset = offset + HASH_BYTES;
+        int i = 0;
+        for (; i + Long.BYTES <= keySize; i += Long.BYTES) {
+            if (segment.getLong(slotKeyOffset + i) != key.getLong(keyOffset + i)) {
+                return false;
+            }
+        }
+        for (; i < keySize; i++) {
+            if (segment.get(slotKeyOffset + i) != key.get(keyOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer segment(int slot) {
+        return segments[slot >>> segmentShift];
+    }
+
+    private int offset(int slot) {
+        return (slot & segmentMask) * slotSize;
+    }
+
+    // Хэш байтов ключа. Зависит только от содержимого, поэтому одинаков в любом запуске JVM.
+    // Старший бит всегда установлен: так хэш не бывает 0 и не мешает вычислению индекса по маске.
+    static int hashBytes(ByteBuffer buffer, int length) {
+        long h = 0x9E3779B97F4A7C15L ^ length;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            h ^= buffer.getLong(i);
+            h *= 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        for (; i < length; i++) {
+            h ^= buffer.get(i) & 0xFF;
+            h *= 0x94D049BB133111EBL;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h | Integer.MIN_VALUE;
+    }
+
+    private static int tableSizeFor(long capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+}
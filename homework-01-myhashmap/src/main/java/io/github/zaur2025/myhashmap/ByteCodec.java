@@ -0,0 +1,119 @@
+package io.github.zaur2025.myhashmap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Преобразование ключей и значений в байты для таблиц, которые хранят данные вне кучи,
+// и для снимков MyHashMap (MyHashMapSerializer). Запись и чтение идут по абсолютному смещению.
+// В таблицах вне кучи каждое значение занимает ровно size() байт; в снимке - sizeOf(value) байт.
+public interface ByteCodec<T> {
+
+    // Максимальный размер закодированного значения в байтах
+    int size();
+
+    // Размер конкретного значения; у кодеков переменной длины может быть меньше size()
+    default int sizeOf(T value) {
+        return size();
+    }
+
+    void write(ByteBuffer buffer, int offset, T value);
+
+    T read(ByteBuffer buffer, int offset);
+
+    ByteCodec<Long> LONG = new ByteCodec<>() {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    ByteCodec<Integer> INT = new ByteCodec<>() {
+        @Override
+        public int size() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    // Строка в UTF-8 с префиксом длины (2 байта) длиной до 65535 байт.
+    // В снимках занимает длину строки + 2 байта; для таблиц вне кучи лучше utf8(maxBytes) с реальным пределом
+    static ByteCodec<String> utf8() {
+        return utf8(0xFFFF);
+    }
+
+    // Строка в UTF-8 с префиксом длины (2 байта): ячейка таблицы вне кучи - maxBytes + 2 байта,
+    // запись в снимке - длина строки + 2 байта
+    static ByteCodec<String> utf8(int maxBytes) {
+        if (maxBytes <= 0 || maxBytes > 0xFFFF) {
+            throw new IllegalArgumentException("Максимальная длина строки должна быть от 1 до 65535 байт: " + maxBytes);
+        }
+        return new ByteCodec<>() {
+            @Override
+            public int size() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public int sizeOf(String value) {
+                return Short.BYTES + utf8Length(value);
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes) {
+                    throw new IllegalArgumentException("Строка длиннее " + maxBytes + " байт в UTF-8: " + value);
+                }
+                buffer.putShort(offset, (short) bytes.length);
+                buffer.put(offset + Short.BYTES, bytes);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+                buffer.get(offset + Short.BYTES, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    // Длина строки в UTF-8 без кодирования (одиночный суррогат, как и в getBytes, - один байт '?')
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
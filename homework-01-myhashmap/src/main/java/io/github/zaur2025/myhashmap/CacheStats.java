@@ -0,0 +1,46 @@
+package io.github.zaur2025.myhashmap;
+
+// Снимок счётчиков MyHashMap в ограниченном режиме
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    // Количество get, нашедших ключ
+    public long hitCount() {
+        return hitCount;
+    }
+
+    // Количество get, не нашедших ключ
+    public long missCount() {
+        return missCount;
+    }
+
+    // Количество элементов, вытесненных из-за превышения максимального веса
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    // Доля попаданий; 1.0, если обращений ещё не было
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hitCount + ", misses=" + missCount
+                + ", evictions=" + evictionCount + ", hitRate=" + String.format("%.3f", hitRate()) + "}";
+    }
+}
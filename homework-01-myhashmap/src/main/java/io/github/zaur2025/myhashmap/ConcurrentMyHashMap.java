@@ -0,0 +1,430 @@
+package io.github.zaur2025.myhashmap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Потокобезопасная хэш-таблица с цепочками.
+// - get не берёт блокировок: ячейки читаются через volatile-доступ к массиву
+// - пустая ячейка заполняется через CAS, непустая изменяется под блокировкой её первого узла
+// - при увеличении таблицы потоки, которые пишут в неё, помогают переносить ячейки
+//   (ячейки делятся на диапазоны, каждый поток забирает свой диапазон через CAS)
+// Ключи и значения null не поддерживаются: put(null, ...) игнорируется, значение null - ошибка.
+public class ConcurrentMyHashMap<K, V> implements MyMap<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    // Минимальное количество ячеек, которое поток переносит за один раз
+    private static final int MIN_TRANSFER_STRIDE = 16;
+
+    // Хэш узла-указателя на новую таблицу; у обычных узлов хэш неотрицательный
+    private static final int MOVED = -1;
+    private static final int HASH_BITS = 0x7FFFFFFF;
+
+    // sizeCtl во время переноса: старшие 16 бит - метка размера таблицы, младшие - число потоков + 1
+    private static final int RESIZE_STAMP_SHIFT = 16;
+    private static final int MAX_RESIZERS = (1 << 16) - 1;
+
+    private static final VarHandle TABLE_ELEMENT = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle SIZE_CTL;
+    private static final VarHandle TRANSFER_INDEX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SIZE_CTL = lookup.findVarHandle(ConcurrentMyHashMap.class, "sizeCtl", int.class);
+            TRANSFER_INDEX = lookup.findVarHandle(ConcurrentMyHashMap.class, "transferIndex", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Узел цепочки. Значение и ссылка на следующий узел volatile, чтобы читатели без блокировок
+    // видели изменения, сделанные под блокировкой
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        // Поиск в цепочке, начиная с этого узла
+        Node<K, V> find(int h, Object k) {
+            for (Node<K, V> e = this; e != null; e = e.next) {
+                if (e.hash == h && (e.key == k || e.key.equals(k))) {
+                    return e;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Ставится в перенесённую ячейку старой таблицы и перенаправляет операции в новую
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+
+        @Override
+        Node<K, V> find(int h, Object k) {
+            Node<K, V>[] tab = nextTable;
+            while (true) {
+                Node<K, V> e = tabAt(tab, (tab.length - 1) & h);
+                if (e == null) {
+                    return null;
+                }
+                if (e instanceof ForwardingNode) {
+                    // Таблицу уже переносят дальше
+                    tab = ((ForwardingNode<K, V>) e).nextTable;
+                    continue;
+                }
+                return e.find(h, k);
+            }
+        }
+    }
+
+    private volatile Node<K, V>[] table;
+    // Новая таблица, пока идёт перенос
+    private volatile Node<K, V>[] nextTable;
+    // Положительное значение - порог увеличения таблицы, отрицательное - идёт перенос
+    private volatile int sizeCtl;
+    // Граница ещё не распределённых между потоками ячеек (переносятся от конца к началу)
+    private volatile int transferIndex;
+
+    private final LongAdder count = new LongAdder();
+
+    public ConcurrentMyHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentMyHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Начальная ёмкость должна быть положительной: " + initialCapacity);
+        }
+        int capacity = tableSizeFor(initialCapacity);
+        table = (Node<K, V>[]) new Node<?, ?>[capacity];
+        sizeCtl = capacity - (capacity >>> 2); // коэффициент загрузки 0.75
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) return null;
+
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        Node<K, V> head = tabAt(tab, (tab.length - 1) & hash);
+        if (head == null) {
+            return null;
+        }
+        Node<K, V> e = head.find(hash, key);
+        return e != null ? e.value : null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    // Добавляет значение, только если ключа ещё нет; возвращает текущее значение или null
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null) return null;
+
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> head = tabAt(tab, index);
+            if (head == null) {
+                return null;
+            }
+            if (head.hash == MOVED) {
+                tab = helpTransfer(tab, head);
+                continue;
+            }
+            V oldValue = null;
+            boolean validated = false;
+            synchronized (head) {
+                if (tabAt(tab, index) == head) {
+                    validated = true;
+                    for (Node<K, V> e = head, prev = null; e != null; prev = e, e = e.next) {
+                        if (e.hash == hash && (e.key == key || e.key.equals(key))) {
+                            oldValue = e.value;
+                            if (prev == null) {
+                                setTabAt(tab, index, e.next);
+                            } else {
+                                prev.next = e.next;
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+            if (validated) {
+                if (oldValue != null) {
+                    count.decrement();
+                }
+                return oldValue;
+            }
+            // Первый узел ячейки изменился, пока ждали блокировку - повторяем
+        }
+    }
+
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null) return null;
+        Objects.requireNonNull(value, "Значение не может быть null");
+
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> head = tabAt(tab, index);
+            if (head == null) {
+                // Пустая ячейка - без блокировки
+                if (casTabAt(tab, index, null, new Node<>(hash, key, value, null))) {
+                    addCount(false);
+                    return null;
+                }
+                continue;
+            }
+            if (head.hash == MOVED) {
+                tab = helpTransfer(tab, head);
+                continue;
+            }
+            if (onlyIfAbsent && head.hash == hash && (head.key == key || head.key.equals(key))) {
+                // Быстрая проверка без блокировки
+                V current = head.value;
+                if (current != null) {
+                    return current;
+                }
+            }
+
+            V oldValue = null;
+            boolean validated = false;
+            synchronized (head) {
+                if (tabAt(tab, index) == head) {
+                    validated = true;
+                    for (Node<K, V> e = head; ; e = e.next) {
+                        if (e.hash == hash && (e.key == key || e.key.equals(key))) {
+                            oldValue = e.value;
+                            if (!onlyIfAbsent) {
+                                e.value = value;
+                            }
+                            break;
+                        }
+                        if (e.next == null) {
+                            // Новый узел добавляется в конец: первый узел ячейки не меняется
+                            e.next = new Node<>(hash, key, value, null);
+                            break;
+                        }
+                    }
+                }
+            }
+            if (validated) {
+                if (oldValue == null) {
+                    // Ячейка уже была непустой - таблица заполняется, проверяем порог
+                    addCount(true);
+                }
+                return oldValue;
+            }
+        }
+    }
+
+    // Увеличение счётчика и, при необходимости, запуск переноса или помощь в нём.
+    // Сумма LongAdder считается только при коллизии, чтобы не делать её на каждой вставке.
+    private void addCount(boolean collision) {
+        count.increment();
+        if (!collision) {
+            return;
+        }
+        Node<K, V>[] tab;
+        int sc;
+        while (count.sum() >= (long) (sc = sizeCtl) && (tab = table).length < MAXIMUM_CAPACITY) {
+            int rs = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+            if (sc < 0) {
+                Node<K, V>[] nt = nextTable;
+                if ((sc & 0xFFFF0000) != rs || sc == rs + MAX_RESIZERS || sc == rs + 1
+                        || nt == null || transferIndex <= 0) {
+                    break;
+                }
+                if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                    transfer(tab, nt);
+                }
+            } else if (SIZE_CTL.compareAndSet(this, sc, rs + 2)) {
+                transfer(tab, null);
+            }
+        }
+    }
+
+    // Помощь в переносе, если операция наткнулась на перенесённую ячейку
+    private Node<K, V>[] helpTransfer(Node<K, V>[] tab, Node<K, V> head) {
+        Node<K, V>[] nextTab = ((ForwardingNode<K, V>) head).nextTable;
+        int rs = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+        int sc;
+        while (nextTab == nextTable && table == tab && (sc = sizeCtl) < 0) {
+            if ((sc & 0xFFFF0000) != rs || sc == rs + MAX_RESIZERS || sc == rs + 1 || transferIndex <= 0) {
+                break;
+            }
+            if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                transfer(tab, nextTab);
+                break;
+            }
+        }
+        return nextTab;
+    }
+
+    // Перенос ячеек в таблицу вдвое большего размера. Каждый участвующий поток
+    // забирает через CAS очередной диапазон ячеек и переносит его под блокировками ячеек.
+    // Старые узлы не изменяются (читатели могут их обходить), переносятся копии.
+    @SuppressWarnings("unchecked")
+    private void transfer(Node<K, V>[] tab, Node<K, V>[] nextTab) {
+        int n = tab.length;
+        int stride = Math.max((n >>> 3) / NCPU, MIN_TRANSFER_STRIDE);
+        if (nextTab == null) {
+            nextTab = (Node<K, V>[]) new Node<?, ?>[n << 1];
+            nextTable = nextTab;
+            transferIndex = n;
+        }
+        ForwardingNode<K, V> forwarding = new ForwardingNode<>(nextTab);
+        boolean advance = true;
+        boolean finishing = false;
+        int i = 0;
+        int bound = 0;
+        while (true) {
+            while (advance) {
+                int nextIndex;
+                if (--i >= bound || finishing) {
+                    advance = false;
+                } else if ((nextIndex = transferIndex) <= 0) {
+                    i = -1;
+                    advance = false;
+                } else {
+                    int nextBound = nextIndex > stride ? nextIndex - stride : 0;
+                    if (TRANSFER_INDEX.compareAndSet(this, nextIndex, nextBound)) {
+                        bound = nextBound;
+                        i = nextIndex - 1;
+                        advance = false;
+                    }
+                }
+            }
+            if (i < 0) {
+                if (finishing) {
+                    nextTable = null;
+                    table = nextTab;
+                    sizeCtl = (n << 1) - (n >>> 1);
+                    return;
+                }
+                int sc = sizeCtl;
+                if (SIZE_CTL.compareAndSet(this, sc, sc - 1)) {
+                    if (sc - 2 != resizeStamp(n) << RESIZE_STAMP_SHIFT) {
+                        return; // остальные потоки ещё работают, завершит последний
+                    }
+                    // Последний поток перепроверяет все ячейки перед публикацией таблицы
+                    finishing = advance = true;
+                    i = n;
+                }
+                continue;
+            }
+            Node<K, V> head = tabAt(tab, i);
+            if (head == null) {
+                advance = casTabAt(tab, i, null, forwarding);
+            } else if (head.hash == MOVED) {
+                advance = true; // уже перенесена
+            } else {
+                synchronized (head) {
+                    if (tabAt(tab, i) == head) {
+                        splitBin(head, nextTab, i, n);
+                        setTabAt(tab, i, forwarding);
+                        advance = true;
+                    }
+                }
+            }
+        }
+    }
+
+    // Делит цепочку на две: элементы остаются в ячейке i или уходят в i + n.
+    // Хвост цепочки, целиком уходящий в одну ячейку, переиспользуется без копирования.
+    private static <K, V> void splitBin(Node<K, V> head, Node<K, V>[] nextTab, int i, int n) {
+        int runBit = head.hash & n;
+        Node<K, V> lastRun = head;
+        for (Node<K, V> p = head.next; p != null; p = p.next) {
+            int bit = p.hash & n;
+            if (bit != runBit) {
+                runBit = bit;
+                lastRun = p;
+            }
+        }
+        Node<K, V> low = runBit == 0 ? lastRun : null;
+        Node<K, V> high = runBit != 0 ? lastRun : null;
+        for (Node<K, V> p = head; p != lastRun; p = p.next) {
+            if ((p.hash & n) == 0) {
+                low = new Node<>(p.hash, p.key, p.value, low);
+            } else {
+                high = new Node<>(p.hash, p.key, p.value, high);
+            }
+        }
+        setTabAt(nextTab, i, low);
+        setTabAt(nextTab, i + n, high);
+    }
+
+    private static int spread(int hashCode) {
+        return HashMixer.MURMUR3.mix(hashCode) & HASH_BITS;
+    }
+
+    private static int resizeStamp(int n) {
+        return Integer.numberOfLeadingZeros(n) | (1 << (RESIZE_STAMP_SHIFT - 1));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Node<K, V> tabAt(Node<K, V>[] tab, int i) {
+        return (Node<K, V>) TABLE_ELEMENT.getVolatile(tab, i);
+    }
+
+    static <K, V> boolean casTabAt(Node<K, V>[] tab, int i, Node<K, V> expected, Node<K, V> value) {
+        return TABLE_ELEMENT.compareAndSet(tab, i, expected, value);
+    }
+
+    static <K, V> void setTabAt(Node<K, V>[] tab, int i, Node<K, V> value) {
+        TABLE_ELEMENT.setVolatile(tab, i, value);
+    }
+
+    // Текущая длина таблицы (для тестов и диагностики)
+    int capacity() {
+        return table.length;
+    }
+}
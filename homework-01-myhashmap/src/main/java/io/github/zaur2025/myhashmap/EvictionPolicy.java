@@ -0,0 +1,15 @@
+package io.github.zaur2025.myhashmap;
+
+// Политика вытеснения для MyHashMap с ограниченным размером
+public enum EvictionPolicy {
+
+    // Вытесняется элемент, к которому дольше всего не обращались
+    LRU,
+
+    // W-TinyLFU: небольшое LRU-окно (1% от максимального веса) для новых элементов
+    // и основная область из пробного и защищённого сегментов. Элемент из окна попадает
+    // в основную область, только если по оценке частоты обращений (count-min sketch)
+    // он популярнее элемента, которого пришлось бы вытеснить. Однократный проход
+    // по множеству ключей (scan) не вымывает из кэша часто используемые элементы.
+    W_TINY_LFU
+}
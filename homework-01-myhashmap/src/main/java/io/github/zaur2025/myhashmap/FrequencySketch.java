@@ -0,0 +1,99 @@
+package io.github.zaur2025.myhashmap;
+
+// Count-min sketch с 4-битными счётчиками для оценки частоты обращений к ключам (W-TinyLFU).
+// В каждом long 16 счётчиков; у ключа 4 счётчика в разных словах, оценка - минимум из них.
+// После sampleSize увеличений все счётчики делятся пополам, поэтому старая популярность
+// постепенно забывается.
+// Таблица растёт вместе с числом элементов (ensureCapacity), при увеличении счётчики сбрасываются.
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+    // Маска для деления всех 16 счётчиков слова пополам
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNTER = 15;
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 26;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int additions;
+
+    // expectedSize - ожидаемое количество элементов в кэше
+    FrequencySketch(long expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    // Увеличение таблицы под expectedSize элементов (не больше MAXIMUM_TABLE_SIZE слов)
+    void ensureCapacity(long expectedSize) {
+        int size = tableSizeFor(expectedSize);
+        if (size > table.length) {
+            allocate(size);
+        }
+    }
+
+    // На сколько элементов рассчитана таблица: одно слово (16 счётчиков) на элемент
+    int capacity() {
+        return table.length;
+    }
+
+    private void allocate(int size) {
+        table = new long[size];
+        tableMask = size - 1;
+        sampleSize = 10 * size;
+        additions = 0;
+    }
+
+    private static int tableSizeFor(long expectedSize) {
+        int size = (int) Math.min(MAXIMUM_TABLE_SIZE, Math.max(16, expectedSize));
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    // Оценка частоты (0..15)
+    int frequency(int hash) {
+        int frequency = MAX_COUNTER;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(hash, i);
+            int shift = counterShift(h);
+            frequency = Math.min(frequency, (int) ((table[index(h)] >>> shift) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(hash, i);
+            int index = index(h);
+            int shift = counterShift(h);
+            if (((table[index] >>> shift) & 0xF) < MAX_COUNTER) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static long spread(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        return h ^ (h >>> 29);
+    }
+
+    private int index(long h) {
+        return (int) (h >>> 32) & tableMask;
+    }
+
+    private static int counterShift(long h) {
+        return ((int) h & 0xF) << 2;
+    }
+}
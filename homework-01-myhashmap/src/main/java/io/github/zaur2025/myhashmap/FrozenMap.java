@@ -0,0 +1,353 @@
+package io.github.zaur2025.myhashmap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+// Неизменяемая таблица с минимальной совершенной хэш-функцией (CHD, "hash and displace").
+// Создаётся методом MyHashMap.freeze(). Ключи и значения лежат парами в одном плоском массиве
+// (ключ и значение ячейки - в одной строке кэша), ячеек столько, сколько различных hashCode:
+// каждому hashCode соответствует ровно одна ячейка, поэтому get - одно вычисление ячейки
+// и одно сравнение, без цепочек и пробирования.
+//
+// Хэши распределены по корзинам (в среднем BUCKET_SIZE хэшей на корзину). Для корзины подобрано
+// смещение d: ячейки всех её хэшей - mix(hash, d) - свободны и различны. Корзины из одного хэша
+// хранят номер ячейки напрямую (отрицательное значение), поэтому построение линейное.
+// Ключи с одинаковым hashCode хранятся в одной ячейке группой и сравниваются по очереди.
+//
+// Все поля final и не меняются после построения, поэтому читать можно из любых потоков без синхронизации.
+// Исключение - унаследованные от AbstractMap ленивые keySet() и values(): представление без
+// состояния может создаться в двух потоках дважды, но оба экземпляра работают одинаково.
+public final class FrozenMap<K, V> extends AbstractMap<K, V> implements MyMap<K, V> {
+
+    // Среднее количество хэшей в корзине. При большем значении последние корзины из двух хэшей
+    // приходится размещать в почти заполненной таблице, и подбор смещения становится долгим
+    private static final int BUCKET_SIZE = 3;
+    // Сколько смещений пробуется для одной корзины до смены общего seed
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+    private static final int MAX_ATTEMPTS = 16;
+
+    private final long seed;
+    // Смещение корзины: >= 0 - параметр mix, < 0 - номер ячейки (-slot - 1)
+    private final int[] displacements;
+    // table[2 * slot] - ключ или CollisionGroup для нескольких ключей с одинаковым hashCode,
+    // table[2 * slot + 1] - значение
+    private final Object[] table;
+    private final int slots;
+    private final int size;
+
+    // Создаётся сразу, а не лениво: иначе это было бы единственное изменяемое поле
+    private final Set<Map.Entry<K, V>> entrySet = new EntrySet();
+
+    // keys и values - пары без повторов ключей, ключи не null
+    FrozenMap(Object[] sourceKeys, Object[] sourceValues) {
+        size = sourceKeys.length;
+
+        // Группировка по hashCode: сортировка пар (hashCode, индекс)
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = ((long) sourceKeys[i].hashCode() << 32) | i;
+        }
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || (int) (sorted[i] >> 32) != (int) (sorted[i - 1] >> 32)) {
+                distinct++;
+            }
+        }
+        int[] distinctHashes = new int[distinct];
+        Object[] groupedKeys = new Object[distinct];
+        Object[] groupedValues = new Object[distinct];
+        for (int i = 0, group = -1; i < size; i++) {
+            int hash = (int) (sorted[i] >> 32);
+            int index = (int) sorted[i];
+            if (group < 0 || distinctHashes[group] != hash) {
+                group++;
+                distinctHashes[group] = hash;
+                groupedKeys[group] = sourceKeys[index];
+                groupedValues[group] = sourceValues[index];
+            } else if (groupedKeys[group] instanceof CollisionGroup collisions) {
+                collisions.add(sourceKeys[index], sourceValues[index]);
+            } else {
+                CollisionGroup collisions = new CollisionGroup();
+                collisions.add(groupedKeys[group], groupedValues[group]);
+                collisions.add(sourceKeys[index], sourceValues[index]);
+                groupedKeys[group] = collisions;
+                groupedValues[group] = null;
+            }
+        }
+
+        slots = distinct;
+        table = new Object[2 * distinct];
+        displacements = new int[Math.max(1, (distinct + BUCKET_SIZE - 1) / BUCKET_SIZE)];
+
+        long currentSeed = 0x9E3779B97F4A7C15L;
+        for (int attempt = 0; ; attempt++) {
+            int[] placed = place(distinctHashes, currentSeed);
+            if (placed != null) {
+                for (int i = 0; i < distinct; i++) {
+                    table[2 * placed[i]] = groupedKeys[i];
+                    table[2 * placed[i] + 1] = groupedValues[i];
+                }
+                break;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new IllegalStateException("Не удалось построить совершенную хэш-функцию");
+            }
+            currentSeed = mix(currentSeed, attempt + 1);
+        }
+        seed = currentSeed;
+    }
+
+    // Подбор смещений корзин; возвращает ячейку каждого хэша или null, если seed неудачный
+    private int[] place(int[] distinctHashes, long currentSeed) {
+        int count = distinctHashes.length;
+        int buckets = displacements.length;
+
+        // Хэши по корзинам: сортировка подсчётом
+        int[] bucketOf = new int[count];
+        int[] bucketStarts = new int[buckets + 1];
+        for (int i = 0; i < count; i++) {
+            bucketOf[i] = range(mix(distinctHashes[i], currentSeed), buckets);
+            bucketStarts[bucketOf[i] + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        int[] members = new int[count];
+        int[] next = Arrays.copyOf(bucketStarts, buckets);
+        for (int i = 0; i < count; i++) {
+            members[next[bucketOf[i]]++] = i;
+        }
+
+        // Корзины обрабатываются от больших к маленьким
+        long[] bySize = new long[buckets];
+        for (int b = 0; b < buckets; b++) {
+            bySize[b] = ((long) (bucketStarts[b + 1] - bucketStarts[b]) << 32) | b;
+        }
+        Arrays.sort(bySize);
+
+        boolean[] taken = new boolean[count];
+        int[] slots = new int[count];
+        int[] candidate = new int[BUCKET_SIZE * 8];
+        int freeCursor = 0;
+        for (int k = buckets - 1; k >= 0; k--) {
+            int bucket = (int) bySize[k];
+            int start = bucketStarts[bucket];
+            int length = bucketStarts[bucket + 1] - start;
+            if (length == 0) {
+                displacements[bucket] = 0;
+                continue;
+            }
+            if (length == 1) {
+                // Одиночный хэш - в первую свободную ячейку, номер хранится напрямую
+                while (taken[freeCursor]) {
+                    freeCursor++;
+                }
+                taken[freeCursor] = true;
+                slots[members[start]] = freeCursor;
+                displacements[bucket] = -freeCursor - 1;
+                continue;
+            }
+            if (candidate.length < length) {
+                candidate = new int[length];
+            }
+            int displacement = findDisplacement(distinctHashes, members, start, length, taken, candidate);
+            if (displacement < 0) {
+                return null;
+            }
+            displacements[bucket] = displacement;
+            for (int j = 0; j < length; j++) {
+                taken[candidate[j]] = true;
+                slots[members[start + j]] = candidate[j];
+            }
+        }
+        return slots;
+    }
+
+    private int findDisplacement(int[] distinctHashes, int[] members, int start, int length,
+                                 boolean[] taken, int[] candidate) {
+        int count = taken.length;
+        search:
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+            for (int j = 0; j < length; j++) {
+                int slot = range(mix(distinctHashes[members[start + j]], displacement), count);
+                if (taken[slot]) {
+                    continue search;
+                }
+                for (int i = 0; i < j; i++) {
+                    if (candidate[i] == slot) {
+                        continue search;
+                    }
+                }
+                candidate[j] = slot;
+            }
+            return displacement;
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null || slots == 0) return null;
+
+        int index = 2 * slotFor(key.hashCode());
+        Object stored = table[index];
+        if (stored instanceof CollisionGroup group) {
+            return (V) group.get(key);
+        }
+        return stored == key || stored.equals(key) ? (V) table[index + 1] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key == null || slots == 0) return false;
+
+        Object stored = table[2 * slotFor(key.hashCode())];
+        if (stored instanceof CollisionGroup group) {
+            return group.indexOf(key) >= 0;
+        }
+        return stored == key || stored.equals(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("Замороженная таблица не изменяется");
+    }
+
+    @Override
+    public V remove(Object key) {
+        throw new UnsupportedOperationException("Замороженная таблица не изменяется");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Замороженная таблица не изменяется");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        for (int index = 0; index < table.length; index += 2) {
+            if (table[index] instanceof CollisionGroup group) {
+                for (int i = 0; i < group.size; i++) {
+                    action.accept((K) group.keys[i], (V) group.values[i]);
+                }
+            } else {
+                action.accept((K) table[index], (V) table[index + 1]);
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    private int slotFor(int hash) {
+        int displacement = displacements[range(mix(hash, seed), displacements.length)];
+        return displacement < 0 ? -displacement - 1 : range(mix(hash, displacement), slots);
+    }
+
+    // Перемешивание хэша с параметром (финализатор splitmix64)
+    private static long mix(long hash, long parameter) {
+        long h = hash * 0x9E3779B97F4A7C15L + parameter * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    // Равномерное отображение 64-битного хэша в [0, bound) без деления
+    private static int range(long hash, int bound) {
+        return (int) (((hash >>> 32) * bound) >>> 32);
+    }
+
+    // Ключи с одинаковым hashCode
+    private static final class CollisionGroup {
+        Object[] keys = new Object[2];
+        Object[] values = new Object[2];
+        int size;
+
+        void add(Object key, Object value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        int indexOf(Object key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key || keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Object get(Object key) {
+            int index = indexOf(key);
+            return index >= 0 ? values[index] : null;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<>() {
+                private int index;
+                private int inGroup;
+
+                @Override
+                public boolean hasNext() {
+                    return index < table.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map.Entry<K, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<K, V> entry;
+                    if (table[index] instanceof CollisionGroup group) {
+                        entry = new SimpleImmutableEntry<>((K) group.keys[inGroup], (V) group.values[inGroup]);
+                        if (++inGroup == group.size) {
+                            inGroup = 0;
+                            index += 2;
+                        }
+                    } else {
+                        entry = new SimpleImmutableEntry<>((K) table[index], (V) table[index + 1]);
+                        index += 2;
+                    }
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,599 @@
+package io.github.zaur2025.myhashmap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Персистентная хэш-таблица - префиксное дерево по битам хэша (hash array mapped trie).
+// Узел хранит битовую карту занятых позиций (по 5 бит хэша на уровень) и плотный массив пар
+// [ключ, значение]; ключ null означает, что значение - вложенный узел. Изменение копирует только
+// путь от корня до изменённого узла, остальные узлы общие у старой и новой версии.
+//
+// Текущая версия - неизменяемый Snapshot (корень и размер), опубликованный через volatile.
+// - snapshot() возвращает текущую версию за O(1): её можно обходить сколько угодно,
+//   запись в таблицу её не меняет
+// - get читает текущую версию без блокировок
+// - put/remove/batch выполняются под блокировкой таблицы (писатели друг за другом)
+// - batch() - пакетное изменение: узлы, созданные внутри пакета, помечены меткой пакета и меняются
+//   на месте, без копирования пути на каждую операцию. Результат публикуется один раз в конце,
+//   поэтому читатели видят либо все изменения пакета, либо ни одного.
+// Ключ null игнорируется, значения null допускаются.
+public class HamtMap<K, V> implements MyMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // Уровни с битовой картой (сдвиги 0, 5, ..., 30) и узел коллизий
+    private static final int MAX_DEPTH = 8;
+
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+    private static final Object NOT_FOUND = new Object();
+    private static final Snapshot<?, ?> EMPTY = new Snapshot<>(null, 0);
+
+    private volatile Snapshot<K, V> current;
+
+    @SuppressWarnings("unchecked")
+    public HamtMap() {
+        current = (Snapshot<K, V>) EMPTY;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        if (key == null) return null;
+
+        Snapshot<K, V> version = current;
+        Change change = new Change();
+        Node root = put(version.root, null, key, value, change);
+        if (root != version.root) {
+            current = new Snapshot<>(root, change.found ? version.size : version.size + 1);
+        }
+        return change.oldValue();
+    }
+
+    @Override
+    public V get(Object key) {
+        return current.get(key);
+    }
+
+    public boolean containsKey(Object key) {
+        return current.containsKey(key);
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        if (key == null) return null;
+
+        Snapshot<K, V> version = current;
+        if (version.root == null) {
+            return null;
+        }
+        Change change = new Change();
+        Node root = version.root.remove(null, 0, hash(key), key, change);
+        if (change.found) {
+            current = new Snapshot<>(root, version.size - 1);
+        }
+        return change.oldValue();
+    }
+
+    @Override
+    public int size() {
+        return current.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return current.size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized void clear() {
+        current = (Snapshot<K, V>) EMPTY;
+    }
+
+    // Неизменяемая версия таблицы на текущий момент, O(1)
+    public Snapshot<K, V> snapshot() {
+        return current;
+    }
+
+    // Пакетное изменение: mutation получает временную таблицу, изменения которой публикуются
+    // одной версией после её завершения. Если mutation бросает исключение, таблица не меняется.
+    // Временную таблицу нельзя использовать после выхода из mutation.
+    public synchronized void batch(Consumer<? super MyMap<K, V>> mutation) {
+        Objects.requireNonNull(mutation, "mutation не может быть null");
+        Batch batch = new Batch(current);
+        try {
+            mutation.accept(batch);
+            current = new Snapshot<>(batch.root, batch.size);
+        } finally {
+            batch.edit = null;
+        }
+    }
+
+    private static Node put(Node root, Edit edit, Object key, Object value, Change change) {
+        int hash = hash(key);
+        if (root == null) {
+            return new BitmapNode(edit, bit(hash, 0), new Object[]{key, value});
+        }
+        return root.put(edit, 0, hash, key, value, change);
+    }
+
+    // Хэш ключа после перемешивания: уровни дерева берут разные группы битов,
+    // поэтому все биты должны зависеть от всего hashCode
+    private static int hash(Object key) {
+        return HashMixer.MURMUR3.mix(key.hashCode());
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    // Узел из двух пар с разными ключами, начиная с уровня shift
+    private static Node createNode(Edit edit, int shift, Object key1, Object value1,
+                                   int hash2, Object key2, Object value2) {
+        int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(edit, hash1, new Object[]{key1, value1, key2, value2});
+        }
+        int position1 = (hash1 >>> shift) & MASK;
+        int position2 = (hash2 >>> shift) & MASK;
+        if (position1 == position2) {
+            Node child = createNode(edit, shift + BITS, key1, value1, hash2, key2, value2);
+            return new BitmapNode(edit, 1 << position1, new Object[]{null, child});
+        }
+        Object[] array = position1 < position2
+                ? new Object[]{key1, value1, key2, value2}
+                : new Object[]{key2, value2, key1, value1};
+        return new BitmapNode(edit, (1 << position1) | (1 << position2), array);
+    }
+
+    // Метка пакета изменений: узел с той же меткой создан в текущем пакете и ещё никому не виден
+    private static final class Edit {
+    }
+
+    // Результат поиска ключа при изменении
+    private static final class Change {
+        boolean found;
+        Object oldValue;
+
+        @SuppressWarnings("unchecked")
+        <V> V oldValue() {
+            return (V) oldValue;
+        }
+    }
+
+    private abstract static class Node {
+        final Edit edit;
+        // Пары [ключ, значение]; ключ null - значение является вложенным узлом
+        Object[] array;
+
+        Node(Edit edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(Edit edit, int shift, int hash, Object key, Object value, Change change);
+
+        // null, если узел стал пустым
+        abstract Node remove(Edit edit, int shift, int hash, Object key, Change change);
+
+        // Тот же узел с другим массивом
+        abstract Node copy(Edit edit, Object[] newArray);
+
+        final boolean isEditable(Edit edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        // Замена пары с индексом i: на месте, если узел принадлежит пакету, иначе в копии
+        final Node with(Edit edit, int i, Object key, Object value) {
+            if (isEditable(edit)) {
+                array[i] = key;
+                array[i + 1] = value;
+                return this;
+            }
+            Object[] newArray = array.clone();
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            return copy(edit, newArray);
+        }
+
+        final void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        static Object[] insertPair(Object[] array, int i, Object key, Object value) {
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            System.arraycopy(array, i, newArray, i + 2, array.length - i);
+            return newArray;
+        }
+
+        static Object[] removePair(Object[] array, int i) {
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            return newArray;
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        int bitmap;
+
+        BitmapNode(Edit edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        // Индекс пары в массиве: число занятых позиций до bit
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = index(bit);
+            Object storedKey = array[i];
+            if (storedKey == null) {
+                return ((Node) array[i + 1]).find(shift + BITS, hash, key);
+            }
+            return storedKey == key || storedKey.equals(key) ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(Edit edit, int shift, int hash, Object key, Object value, Change change) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = insertPair(array, i, key, value);
+                if (isEditable(edit)) {
+                    array = newArray;
+                    bitmap |= bit;
+                    return this;
+                }
+                return new BitmapNode(edit, bitmap | bit, newArray);
+            }
+            Object storedKey = array[i];
+            Object storedValue = array[i + 1];
+            if (storedKey == null) {
+                Node child = ((Node) storedValue).put(edit, shift + BITS, hash, key, value, change);
+                return child == storedValue ? this : with(edit, i, null, child);
+            }
+            if (storedKey == key || storedKey.equals(key)) {
+                change.found = true;
+                change.oldValue = storedValue;
+                return storedValue == value ? this : with(edit, i, storedKey, value);
+            }
+            Node child = createNode(edit, shift + BITS, storedKey, storedValue, hash, key, value);
+            return with(edit, i, null, child);
+        }
+
+        @Override
+        Node remove(Edit edit, int shift, int hash, Object key, Change change) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = index(bit);
+            Object storedKey = array[i];
+            Object storedValue = array[i + 1];
+            if (storedKey == null) {
+                Node child = ((Node) storedValue).remove(edit, shift + BITS, hash, key, change);
+                if (child == storedValue) {
+                    return this;
+                }
+                if (child != null) {
+                    return with(edit, i, null, child);
+                }
+            } else if (storedKey == key || storedKey.equals(key)) {
+                change.found = true;
+                change.oldValue = storedValue;
+            } else {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = removePair(array, i);
+            if (isEditable(edit)) {
+                array = newArray;
+                bitmap &= ~bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap & ~bit, newArray);
+        }
+
+        @Override
+        Node copy(Edit edit, Object[] newArray) {
+            return new BitmapNode(edit, bitmap, newArray);
+        }
+    }
+
+    // Ключи с полностью одинаковым хэшем, линейный поиск
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(Edit edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == key || array[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return NOT_FOUND;
+            }
+            int i = indexOf(key);
+            return i >= 0 ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(Edit edit, int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash) {
+                // Хэши расходятся на этом уровне или ниже: узел уходит на уровень вниз
+                Node parent = new BitmapNode(edit, bit(this.hash, shift), new Object[]{null, this});
+                return parent.put(edit, shift, hash, key, value, change);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                change.found = true;
+                change.oldValue = array[i + 1];
+                return array[i + 1] == value ? this : with(edit, i, key, value);
+            }
+            Object[] newArray = insertPair(array, array.length, key, value);
+            if (isEditable(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Node remove(Edit edit, int shift, int hash, Object key, Change change) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if (i < 0) {
+                return this;
+            }
+            change.found = true;
+            change.oldValue = array[i + 1];
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = removePair(array, i);
+            if (isEditable(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Node copy(Edit edit, Object[] newArray) {
+            return new CollisionNode(edit, hash, newArray);
+        }
+    }
+
+    // Временная таблица пакета: работает со своим корнем, узлы пакета меняются на месте
+    private final class Batch implements MyMap<K, V> {
+        Edit edit = new Edit();
+        Node root;
+        int size;
+
+        Batch(Snapshot<K, V> version) {
+            root = version.root;
+            size = version.size;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            ensureActive();
+            if (key == null) return null;
+
+            Change change = new Change();
+            root = HamtMap.put(root, edit, key, value, change);
+            if (!change.found) {
+                size++;
+            }
+            return change.oldValue();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            ensureActive();
+            if (key == null || root == null) return null;
+
+            Object value = root.find(0, hash(key), key);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        @Override
+        public V remove(Object key) {
+            ensureActive();
+            if (key == null || root == null) return null;
+
+            Change change = new Change();
+            root = root.remove(edit, 0, hash(key), key, change);
+            if (change.found) {
+                size--;
+            }
+            return change.oldValue();
+        }
+
+        @Override
+        public int size() {
+            ensureActive();
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        private void ensureActive() {
+            if (edit == null) {
+                throw new IllegalStateException("Пакет изменений уже завершён");
+            }
+        }
+    }
+
+    // Неизменяемая версия таблицы. Обход и чтение не требуют синхронизации.
+    public static final class Snapshot<K, V> extends AbstractMap<K, V> implements MyMap<K, V> {
+        private final Node root;
+        private final int size;
+
+        private Set<Map.Entry<K, V>> entrySet;
+
+        private Snapshot(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            if (key == null || root == null) return null;
+
+            Object value = root.find(0, hash(key), key);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && root != null && root.find(0, hash(key), key) != NOT_FOUND;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            throw new UnsupportedOperationException("Снимок таблицы не изменяется");
+        }
+
+        @Override
+        public V remove(Object key) {
+            throw new UnsupportedOperationException("Снимок таблицы не изменяется");
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("Снимок таблицы не изменяется");
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            Objects.requireNonNull(action);
+            if (root != null) {
+                root.forEach((key, value) -> action.accept((K) key, (V) value));
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new EntrySet();
+            }
+            return entrySet;
+        }
+
+        private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
+
+        // Обход в глубину: стек массивов узлов и позиций в них
+        private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+            private final Object[][] arrays = new Object[MAX_DEPTH][];
+            private final int[] positions = new int[MAX_DEPTH];
+            private int depth;
+            private Object nextKey;
+            private Object nextValue;
+
+            EntryIterator() {
+                arrays[0] = root != null ? root.array : EMPTY_ARRAY;
+                advance();
+            }
+
+            private void advance() {
+                nextKey = null;
+                while (depth >= 0) {
+                    Object[] array = arrays[depth];
+                    int position = positions[depth];
+                    if (position == array.length) {
+                        depth--;
+                        continue;
+                    }
+                    positions[depth] = position + 2;
+                    if (array[position] == null) {
+                        depth++;
+                        arrays[depth] = ((Node) array[position + 1]).array;
+                        positions[depth] = 0;
+                    } else {
+                        nextKey = array[position];
+                        nextValue = array[position + 1];
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextKey != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Map.Entry<K, V> next() {
+                if (nextKey == null) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<K, V> entry = new SimpleImmutableEntry<>((K) nextKey, (V) nextValue);
+                advance();
+                return entry;
+            }
+        }
+    }
+}
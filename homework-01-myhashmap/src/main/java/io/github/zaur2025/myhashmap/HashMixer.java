@@ -0,0 +1,26 @@
+package io.github.zaur2025.myhashmap;
+
+// Перемешивание hashCode перед вычислением индекса ячейки.
+// Индекс берётся по маске из младших битов, поэтому они должны зависеть от всех битов hashCode.
+@FunctionalInterface
+public interface HashMixer {
+
+    int mix(int hashCode);
+
+    // Без перемешивания: подходит только для ключей с хорошо распределёнными младшими битами
+    HashMixer IDENTITY = hashCode -> hashCode;
+
+    // Как в java.util.HashMap: старшие 16 бит смешиваются с младшими
+    HashMixer XOR_SHIFT = hashCode -> hashCode ^ (hashCode >>> 16);
+
+    // Финализатор MurmurHash3 (fmix32): каждый бит результата зависит от всех битов входа
+    HashMixer MURMUR3 = hashCode -> {
+        int h = hashCode;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    };
+}
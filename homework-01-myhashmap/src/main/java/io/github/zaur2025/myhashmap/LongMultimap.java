@@ -0,0 +1,153 @@
+package io.github.zaur2025.myhashmap;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+
+// Мультиотображение ключ -> несколько long (например, домен email -> ID пользователей) поверх MyHashMap.
+// Значения ключа хранятся в одном массиве long[]: элемент 0 - количество значений, дальше сами значения.
+// Массив растёт удвоением, поэтому на ключ приходится один узел таблицы и один массив без упаковки.
+// Повторы значений допускаются; removeValue переносит последнее значение на место удалённого,
+// поэтому порядок значений ключа после удаления не сохраняется.
+// Ключ null игнорируется. Не потокобезопасно.
+public class LongMultimap<K> {
+
+    // Вместимость массива нового ключа без учёта элемента-счётчика
+    private static final int INITIAL_VALUES = 3;
+
+    private final MyHashMap<K, long[]> map;
+    // Общее количество значений
+    private long size;
+
+    public LongMultimap() {
+        map = new MyHashMap<>();
+    }
+
+    public LongMultimap(int expectedKeys) {
+        map = new MyHashMap<>(Math.max(1, (int) Math.min(Integer.MAX_VALUE, (long) (expectedKeys / 0.75f) + 1)));
+    }
+
+    // Добавление значения к ключу
+    public void add(K key, long value) {
+        if (key == null) return;
+
+        long[] values = map.get(key);
+        if (values == null) {
+            values = new long[INITIAL_VALUES + 1];
+            map.put(key, values);
+        } else if (values[0] == values.length - 1) {
+            values = Arrays.copyOf(values, values.length * 2);
+            map.put(key, values);
+        }
+        int count = (int) values[0];
+        values[count + 1] = value;
+        values[0] = count + 1;
+        size++;
+    }
+
+    // Удаление одного вхождения значения; ключ без значений удаляется. true - значение было
+    public boolean removeValue(K key, long value) {
+        if (key == null) return false;
+
+        long[] values = map.get(key);
+        if (values == null) {
+            return false;
+        }
+        int count = (int) values[0];
+        for (int i = 1; i <= count; i++) {
+            if (values[i] == value) {
+                values[i] = values[count];
+                values[0] = count - 1;
+                size--;
+                if (count == 1) {
+                    map.remove(key);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Удаление ключа со всеми значениями, возвращает количество удалённых значений
+    public int removeAll(K key) {
+        if (key == null) return 0;
+
+        long[] values = map.remove(key);
+        if (values == null) {
+            return 0;
+        }
+        size -= values[0];
+        return (int) values[0];
+    }
+
+    // Копия значений ключа; пустой массив, если ключа нет
+    public long[] getAll(K key) {
+        long[] values = key != null ? map.get(key) : null;
+        return values == null ? new long[0] : Arrays.copyOfRange(values, 1, (int) values[0] + 1);
+    }
+
+    // Обход значений ключа без копирования и упаковки
+    public void forEach(K key, LongConsumer action) {
+        Objects.requireNonNull(action);
+        long[] values = key != null ? map.get(key) : null;
+        if (values == null) {
+            return;
+        }
+        for (int i = 1, end = (int) values[0]; i <= end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    // Обход всех пар ключ-значение без упаковки
+    public void forEach(ObjLongConsumer<? super K> action) {
+        Objects.requireNonNull(action);
+        map.forEach((key, values) -> {
+            for (int i = 1, end = (int) values[0]; i <= end; i++) {
+                action.accept(key, values[i]);
+            }
+        });
+    }
+
+    public boolean containsKey(K key) {
+        return key != null && map.containsKey(key);
+    }
+
+    public boolean containsEntry(K key, long value) {
+        long[] values = key != null ? map.get(key) : null;
+        if (values == null) {
+            return false;
+        }
+        for (int i = 1, end = (int) values[0]; i <= end; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Количество значений ключа
+    public int valueCount(K key) {
+        long[] values = key != null ? map.get(key) : null;
+        return values == null ? 0 : (int) values[0];
+    }
+
+    // Количество ключей
+    public int keyCount() {
+        return map.size();
+    }
+
+    // Общее количество значений
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        map.clear();
+        size = 0;
+    }
+}
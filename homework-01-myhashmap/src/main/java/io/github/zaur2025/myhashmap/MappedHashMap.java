@@ -0,0 +1,278 @@
+package io.github.zaur2025.myhashmap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Хэш-таблица в файле, отображённом в память (устройство ячеек - в AbstractOffHeapHashMap).
+// Открытие существующего файла - только отображение, данные не читаются и не перестраиваются,
+// поэтому время запуска не зависит от размера таблицы.
+//
+// Файл: заголовок (одна страница) + ячейки таблицы.
+// Заголовок: MAGIC, версия, размеры ключа и значения, ёмкость, количество элементов,
+// состояние (CLEAN/DIRTY) и счётчик поколений.
+// Перед первым изменением после открытия или flush() состояние меняется на DIRTY, поколение
+// увеличивается, и заголовок сбрасывается на диск. flush() и close() сначала сбрасывают ячейки,
+// затем записывают CLEAN. Если файл открывается в состоянии DIRTY (процесс упал), таблица
+// восстанавливается перестроением: берутся все заполненные ячейки, повторные копии ключа
+// (остаток прерванного удаления) отбрасываются, размер пересчитывается.
+//
+// При увеличении таблица строится в соседнем файле "<имя>.resize", который затем атомарно
+// заменяет основной, так что на диске всегда лежит целая таблица. Перед заменой оба файла
+// сбрасываются, отображения освобождаются и каналы закрываются (Windows не даёт переименовать
+// открытый или отображённый файл), после замены основной файл отображается заново.
+// Не потокобезопасна, один файл может открыть только один экземпляр.
+public class MappedHashMap<K, V> extends AbstractOffHeapHashMap<K, V> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 1024;
+
+    private static final long MAGIC = 0x4D59484D41503031L; // "MYHMAP01"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4096;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int KEY_SIZE_OFFSET = 12;
+    private static final int VALUE_SIZE_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 20;
+    private static final int SIZE_OFFSET = 24;
+    private static final int STATE_OFFSET = 28;
+    private static final int GENERATION_OFFSET = 32;
+
+    private static final int STATE_CLEAN = 0;
+    private static final int STATE_DIRTY = 1;
+
+    private final Path file;
+    private final Path resizeFile;
+
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    // Файл, который строится при увеличении таблицы
+    private FileChannel pendingChannel;
+    private MappedByteBuffer pendingHeader;
+
+    private long generation;
+    private boolean dirty;
+    private boolean recovered;
+
+    public MappedHashMap(Path file, ByteCodec<K> keyCodec, ByteCodec<V> valueCodec) {
+        this(file, keyCodec, valueCodec, DEFAULT_EXPECTED_SIZE);
+    }
+
+    // expectedSize используется только при создании нового файла
+    public MappedHashMap(Path file, ByteCodec<K> keyCodec, ByteCodec<V> valueCodec, int expectedSize) {
+        super(keyCodec, valueCodec);
+        this.file = file.toAbsolutePath();
+        this.resizeFile = this.file.resolveSibling(this.file.getFileName() + ".resize");
+        try {
+            // Незавершённое увеличение: основной файл не тронут
+            Files.deleteIfExists(resizeFile);
+            if (Files.exists(this.file) && Files.size(this.file) > 0) {
+                openExisting();
+            } else {
+                initTable(expectedSize);
+                replaceSegments(new ByteBuffer[0]);
+            }
+        } catch (IOException e) {
+            release();
+            throw new UncheckedIOException("Не удалось открыть файл " + this.file, e);
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    // Счётчик поколений: увеличивается при каждом переходе из CLEAN в DIRTY
+    public long generation() {
+        return generation;
+    }
+
+    // true, если при открытии файл оказался в состоянии DIRTY и таблица была восстановлена
+    public boolean recovered() {
+        return recovered;
+    }
+
+    // Сброс изменений на диск и пометка файла как целого
+    public void flush() {
+        ensureOpen();
+        if (!dirty) {
+            return;
+        }
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+        header.putInt(SIZE_OFFSET, size);
+        header.putInt(STATE_OFFSET, STATE_CLEAN);
+        header.force();
+        dirty = false;
+    }
+
+    @Override
+    public void close() {
+        if (segments == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            release();
+        }
+    }
+
+    // Освобождение отображения и файла без flush и записи CLEAN: файл остаётся в том же состоянии,
+    // что и после падения процесса. Для тестов восстановления
+    void abandon() {
+        release();
+    }
+
+    @Override
+    void beforeUpdate() {
+        if (dirty) {
+            return;
+        }
+        dirty = true;
+        generation++;
+        header.putLong(GENERATION_OFFSET, generation);
+        header.putInt(STATE_OFFSET, STATE_DIRTY);
+        header.force();
+    }
+
+    @Override
+    ByteBuffer[] allocateSegments(int count, int segmentBytes) {
+        try {
+            // Файл растягивается при отображении, новые области заполнены нулями
+            pendingChannel = FileChannel.open(resizeFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            pendingHeader = pendingChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            return mapSegments(pendingChannel, count, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать файл " + resizeFile, e);
+        }
+    }
+
+    @Override
+    void replaceSegments(ByteBuffer[] oldSegments) {
+        int segmentCount = segments.length;
+        int segmentBytes = segments[0].capacity();
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+        writeHeader(pendingHeader);
+        pendingHeader.force();
+
+        for (ByteBuffer oldSegment : oldSegments) {
+            DirectMemory.free(oldSegment);
+        }
+        DirectMemory.free(header);
+        header = null;
+        closeChannel(channel);
+        channel = null;
+        for (ByteBuffer segment : segments) {
+            DirectMemory.free(segment);
+        }
+        DirectMemory.free(pendingHeader);
+        pendingHeader = null;
+        closeChannel(pendingChannel);
+        pendingChannel = null;
+
+        try {
+            Files.move(resizeFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            segments = mapSegments(channel, segmentCount, segmentBytes);
+        } catch (IOException e) {
+            // Старые отображения уже освобождены: таблица закрывается, на диске остаётся
+            // либо старый файл, либо новый целиком
+            release();
+            throw new UncheckedIOException("Не удалось заменить файл " + file, e);
+        }
+    }
+
+    private void openExisting() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Файл повреждён: нет заголовка " + file);
+        }
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (header.getLong(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IllegalArgumentException("Файл не является таблицей MappedHashMap: " + file);
+        }
+        int fileKeySize = header.getInt(KEY_SIZE_OFFSET);
+        int fileValueSize = header.getInt(VALUE_SIZE_OFFSET);
+        if (fileKeySize != keySize || fileValueSize != valueCodec.size()) {
+            throw new IllegalArgumentException("Размеры ключа и значения в файле (" + fileKeySize + ", "
+                    + fileValueSize + ") не совпадают с кодеками (" + keySize + ", " + valueCodec.size() + ")");
+        }
+        int fileCapacity = header.getInt(CAPACITY_OFFSET);
+        if (fileCapacity <= 0 || Integer.bitCount(fileCapacity) != 1
+                || channel.size() < HEADER_BYTES + (long) fileCapacity * slotSize) {
+            throw new IllegalArgumentException("Файл повреждён: неверная ёмкость " + fileCapacity);
+        }
+        generation = header.getLong(GENERATION_OFFSET);
+
+        int slotsPerSegment = slotsPerSegment(fileCapacity);
+        ByteBuffer[] mapped = mapSegments(channel, fileCapacity / slotsPerSegment, slotsPerSegment * slotSize);
+        attachTable(mapped, fileCapacity, header.getInt(SIZE_OFFSET));
+
+        if (header.getInt(STATE_OFFSET) != STATE_CLEAN) {
+            recovered = true;
+            beforeUpdate();
+            rehash(capacity, true);
+            flush();
+        }
+    }
+
+    private void writeHeader(MappedByteBuffer target) {
+        target.putLong(MAGIC_OFFSET, MAGIC);
+        target.putInt(VERSION_OFFSET, VERSION);
+        target.putInt(KEY_SIZE_OFFSET, keySize);
+        target.putInt(VALUE_SIZE_OFFSET, valueCodec.size());
+        target.putInt(CAPACITY_OFFSET, capacity);
+        target.putInt(SIZE_OFFSET, size);
+        target.putInt(STATE_OFFSET, dirty ? STATE_DIRTY : STATE_CLEAN);
+        target.putLong(GENERATION_OFFSET, generation);
+    }
+
+    private void release() {
+        if (segments != null) {
+            for (ByteBuffer segment : segments) {
+                DirectMemory.free(segment);
+            }
+            segments = null;
+        }
+        size = 0;
+        DirectMemory.free(header);
+        DirectMemory.free(pendingHeader);
+        header = null;
+        pendingHeader = null;
+        closeChannel(channel);
+        closeChannel(pendingChannel);
+        channel = null;
+        pendingChannel = null;
+    }
+
+    private static ByteBuffer[] mapSegments(FileChannel target, int count, int segmentBytes) throws IOException {
+        ByteBuffer[] mapped = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            mapped[i] = target.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (long) i * segmentBytes, segmentBytes);
+        }
+        return mapped;
+    }
+
+    private static void closeChannel(FileChannel target) {
+        if (target == null) {
+            return;
+        }
+        try {
+            target.close();
+        } catch (IOException e) {
+            // Данные уже сброшены на диск, ошибка закрытия не влияет на файл
+        }
+    }
+}
@@ -1,81 +1,384 @@
 package io.github.zaur2025.myhashmap;
 
-public class MyHashMap<K, V> {
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Полная реализация java.util.Map поверх собственной таблицы.
+// Ключ null не поддерживается (см. MyMap), значения null допустимы.
+public class MyHashMap<K, V> extends AbstractMap<K, V> implements MyMap<K, V> {
 
     // Внутренний класс для хранения пары ключ-значение
-    private static class Entry<K, V> {
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        final int hash;
         K key;
         V value;
         Entry<K, V> next; // для коллизий
+        // Соседи в очереди вытеснения (только в ограниченном режиме)
+        Entry<K, V> before;
+        Entry<K, V> after;
+        int weight;
+        byte queue;
 
-        Entry(K key, V value) {
+        Entry(int hash, K key, V value) {
+            this.hash = hash;
             this.key = key;
             this.value = value;
         }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        // В ограниченном режиме вес элемента при этом не пересчитывается
+        @Override
+        public V setValue(V newValue) {
+            V oldValue = value;
+            value = newValue;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> other
+                    && Objects.equals(key, other.getKey())
+                    && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
     }
 
     // Массив для хранения цепочек
     private Entry<K, V>[] table;
     private int size;
     private static final int DEFAULT_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Сколько ячеек старой таблицы переносится за одну операцию
+    private static final int MIGRATION_STEP = 4;
+
+    // Цепочка такой длины превращается в сбалансированное дерево
+    static final int TREEIFY_THRESHOLD = 8;
+    // Дерево такого размера превращается обратно в цепочку
+    static final int UNTREEIFY_THRESHOLD = 6;
+    // В маленьких таблицах длинные цепочки чаще случайны, деревья не строим
+    static final int MIN_TREEIFY_CAPACITY = 64;
+    // Минимальный размер части входа при параллельной загрузке
+    private static final int PARALLEL_CHUNK_MIN_SIZE = 4096;
+
+    private final float loadFactor;
+    private final HashMixer hashMixer;
+    // Порог размера, при превышении которого таблица увеличивается
+    private int threshold;
+
+    // Старая таблица, из которой идёт постепенный перенос (null, если переноса нет)
+    private Entry<K, V>[] oldTable;
+    // Индекс следующей ячейки старой таблицы для переноса
+    private int migrationIndex;
+    // Сколько ячеек переносится за одну операцию в текущем переносе (не меньше MIGRATION_STEP)
+    private int migrationStep = MIGRATION_STEP;
+    // Количество структурных изменений (вставок и удалений) - для fail-fast итераторов
+    private int modCount;
+
+    // Статистика для диагностики (null - выключена)
+    private MyHashMapStatistics statistics;
+
+    private Set<Map.Entry<K, V>> entrySet;
+    private Set<K> keySet;
+    private Collection<V> values;
+
+    // Очереди вытеснения: окно (в режиме LRU - единственная очередь),
+    // пробный и защищённый сегменты основной области W-TinyLFU
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    // Доля окна и защищённого сегмента в W-TinyLFU
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    // Ограниченный режим: политика вытеснения (null - размер не ограничен) и максимальный вес
+    private final EvictionPolicy evictionPolicy;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    // Заголовки кольцевых списков очередей, от старых элементов (after) к новым (before)
+    private final Entry<K, V> windowQueue;
+    private final Entry<K, V> probationQueue;
+    private final Entry<K, V> protectedQueue;
+    private final FrequencySketch sketch;
+    private long totalWeight;
+    private long windowWeight;
+    private long protectedWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
 
     // Конструктор
-    @SuppressWarnings("unchecked")
     public MyHashMap() {
-        table = new Entry[DEFAULT_CAPACITY];
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public MyHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public MyHashMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity, loadFactor, HashMixer.MURMUR3);
+    }
+
+    // Длина таблицы округляется вверх до степени двойки, чтобы индекс вычислялся маской
+    public MyHashMap(int initialCapacity, float loadFactor, HashMixer hashMixer) {
+        this(initialCapacity, loadFactor, hashMixer, null, Long.MAX_VALUE, null);
+    }
+
+    // Ограниченный режим: не больше maximumSize элементов, лишние вытесняются по политике policy
+    public MyHashMap(long maximumSize, EvictionPolicy policy) {
+        this(maximumSize, policy, (key, value) -> 1);
+    }
+
+    // Ограниченный режим по суммарному весу элементов
+    public MyHashMap(long maximumWeight, EvictionPolicy policy, Weigher<? super K, ? super V> weigher) {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, HashMixer.MURMUR3,
+                Objects.requireNonNull(policy, "policy не может быть null"), maximumWeight,
+                Objects.requireNonNull(weigher, "weigher не может быть null"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private MyHashMap(int initialCapacity, float loadFactor, HashMixer hashMixer,
+                      EvictionPolicy policy, long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Начальная ёмкость должна быть положительной: " + initialCapacity);
+        }
+        if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("Некорректный коэффициент загрузки: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.hashMixer = Objects.requireNonNull(hashMixer, "hashMixer не может быть null");
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Максимальный вес не может быть отрицательным: " + maximumWeight);
+        }
+        table = (Entry<K, V>[]) new Entry<?, ?>[tableSizeFor(initialCapacity)];
+        threshold = computeThreshold(table.length);
         size = 0;
+
+        this.evictionPolicy = policy;
+        this.weigher = weigher;
+        this.maximumWeight = maximumWeight;
+        if (policy == EvictionPolicy.W_TINY_LFU) {
+            windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_RATIO));
+            protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_RATIO);
+            // Размер sketch - по числу элементов, а не по весу: с весом в байтах максимум может быть
+            // в миллиарды раз больше числа элементов. Дальше sketch растёт вместе с size (linkNew)
+            sketch = new FrequencySketch(Math.min(maximumWeight, table.length));
+        } else {
+            windowMaximum = maximumWeight;
+            protectedMaximum = 0;
+            sketch = null;
+        }
+        windowQueue = policy != null ? newQueue() : null;
+        probationQueue = policy != null ? newQueue() : null;
+        protectedQueue = policy != null ? newQueue() : null;
     }
 
     // Метод put добавляет или обновляет значение по ключу
-    public void put(K key, V value) {
-        if (key == null) return;
+    @Override
+    public V put(K key, V value) {
+        if (key == null) return null;
 
-        int index = getIndex(key);
-        Entry<K, V> current = table[index];
+        int hash = hash(key);
+        if (oldTable != null) {
+            // Ключ мог остаться в старой таблице - сначала переносим его ячейку
+            migrateBucket(getIndex(hash, oldTable.length));
+            migrateStep();
+        }
 
-        // Проверяем, есть ли уже такой ключ
-        while (current != null) {
-            if (current.key.equals(key)) {
-                current.value = value; // Обновляем значение
-                return;
+        int index = getIndex(hash, table.length);
+        Entry<K, V> head = table[index];
+
+        if (head instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>) head;
+            TreeNode<K, V> node = new TreeNode<>(hash, key, value, comparableClassFor(key));
+            TreeNode<K, V> existing = bin.putTreeNode(node);
+            if (existing != null) {
+                V oldValue = existing.value;
+                existing.value = value; // Обновляем значение
+                if (evictionPolicy != null) {
+                    afterUpdate(existing);
+                }
+                return oldValue;
+            }
+            if (evictionPolicy != null) {
+                linkNew(node);
+            }
+        } else {
+            // Проверяем, есть ли уже такой ключ
+            int binCount = 0;
+            for (Entry<K, V> current = head; current != null; current = current.next) {
+                if (current.hash == hash && current.key.equals(key)) {
+                    V oldValue = current.value;
+                    current.value = value; // Обновляем значение
+                    if (evictionPolicy != null) {
+                        afterUpdate(current);
+                    }
+                    return oldValue;
+                }
+                binCount++;
+            }
+
+            // Добавляем новый элемент в начало цепочки
+            Entry<K, V> newEntry = new Entry<>(hash, key, value);
+            newEntry.next = head;
+            table[index] = newEntry;
+            if (evictionPolicy != null) {
+                linkNew(newEntry);
+            }
+            if (binCount + 1 >= TREEIFY_THRESHOLD) {
+                treeifyBin(table, index);
             }
-            current = current.next;
         }
 
-        // Добавляем новый элемент в начало цепочки
-        Entry<K, V> newEntry = new Entry<>(key, value);
-        newEntry.next = table[index];
-        table[index] = newEntry;
-        size++;
+        modCount++;
+        if (++size > threshold) {
+            resize();
+        }
+        if (evictionPolicy != null) {
+            evict();
+        }
+        return null;
     }
 
     // Метод get возвращает значение по ключу
-    public V get(K key) {
+    @Override
+    public V get(Object key) {
         if (key == null) return null;
 
-        int index = getIndex(key);
-        Entry<K, V> current = table[index];
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(hash, key);
+        if (evictionPolicy != null) {
+            afterRead(hash, entry);
+        }
+        if (statistics != null) {
+            statistics.recordGet(probeCount(hash, key));
+        }
+        return entry != null ? entry.value : null; // null - ключ не найден
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        if (key == null) return defaultValue;
 
-        while (current != null) {
-            if (current.key.equals(key)) {
-                return current.value;
-            }
-            current = current.next;
+        int hash = hash(key);
+        Entry<K, V> entry = getEntry(hash, key);
+        if (evictionPolicy != null) {
+            afterRead(hash, entry);
         }
+        if (statistics != null) {
+            statistics.recordGet(probeCount(hash, key));
+        }
+        return entry != null ? entry.value : defaultValue;
+    }
 
-        return null; // Ключ не найден
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && getEntry(hash(key), key) != null;
+    }
+
+    // Поиск для чтения: ячейка могла ещё не переехать из старой таблицы
+    private Entry<K, V> getEntry(int hash, Object key) {
+        if (oldTable != null) {
+            migrateStep();
+        }
+        Entry<K, V> entry = findEntry(table, hash, key);
+        if (entry == null && oldTable != null) {
+            // Ячейка ещё не перенесена - ищем в старой таблице
+            entry = findEntry(oldTable, hash, key);
+        }
+        return entry;
     }
 
     // Метод remove удаляет пару по ключу
-    public V remove(K key) {
+    @Override
+    public V remove(Object key) {
         if (key == null) return null;
 
-        int index = getIndex(key);
-        Entry<K, V> current = table[index];
+        Entry<K, V> removed = removeEntry(hash(key), key);
+        return removed != null ? removed.value : null;
+    }
+
+    // Удаление элемента, возвращает удалённый элемент или null
+    private Entry<K, V> removeEntry(int hash, Object key) {
+        if (oldTable != null) {
+            migrateBucket(getIndex(hash, oldTable.length));
+            migrateStep();
+        }
+
+        int index = getIndex(hash, table.length);
+        Entry<K, V> head = table[index];
+
+        if (head instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>) head;
+            TreeNode<K, V> node = bin.find(hash, key);
+            if (node == null) {
+                return null; // Ключ не найден
+            }
+            bin.removeTreeNode(node);
+            if (bin.count <= UNTREEIFY_THRESHOLD) {
+                table[index] = bin.toChain();
+            }
+            modCount++;
+            size--;
+            if (evictionPolicy != null) {
+                unlink(node);
+            }
+            return node;
+        }
+
+        Entry<K, V> current = head;
         Entry<K, V> prev = null;
 
         while (current != null) {
-            if (current.key.equals(key)) {
+            if (current.hash == hash && current.key.equals(key)) {
                 if (prev == null) {
                     // Удаляем первый элемент цепочки
                     table[index] = current.next;
@@ -83,8 +386,12 @@ public class MyHashMap<K, V> {
                     // Удаляем из середины или конца
                     prev.next = current.next;
                 }
+                modCount++;
                 size--;
-                return current.value;
+                if (evictionPolicy != null) {
+                    unlink(current);
+                }
+                return current;
             }
             prev = current;
             current = current.next;
@@ -93,17 +400,1500 @@ public class MyHashMap<K, V> {
         return null; // Ключ не найден
     }
 
-    // Вспомогательный метод для вычисления индекса
-    private int getIndex(K key) {
-        return Math.abs(key.hashCode()) % table.length;
+    // putIfAbsent, compute*, merge: ключ ищется один раз, найденный элемент изменяется на месте,
+    // новый вставляется в уже найденную ячейку
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (key == null) return null;
+
+        int hash = hash(key);
+        int index = prepareBin(hash);
+        Entry<K, V> entry = findEntry(table, hash, key);
+        if (entry == null) {
+            insert(index, hash, key, value);
+            return null;
+        }
+        V oldValue = entry.value;
+        if (oldValue == null) {
+            entry.value = value;
+            if (evictionPolicy != null) {
+                afterUpdate(entry);
+            }
+        }
+        return oldValue;
     }
 
-    // Метод для вычисления размера
-    public int size() {
-        return size;
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        if (key == null) return null;
+
+        int hash = hash(key);
+        int index = prepareBin(hash);
+        Entry<K, V> entry = findEntry(table, hash, key);
+        if (evictionPolicy != null) {
+            afterRead(hash, entry != null && entry.value != null ? entry : null);
+        }
+        if (entry != null && entry.value != null) {
+            return entry.value;
+        }
+
+        int expectedModCount = modCount;
+        V value = mappingFunction.apply(key);
+        checkModCount(expectedModCount);
+        if (value == null) {
+            return null;
+        }
+        if (entry != null) {
+            setValue(entry, value);
+        } else {
+            insert(index, hash, key, value);
+        }
+        return value;
     }
 
-    public boolean isEmpty() {
-        return size == 0;
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        if (key == null) return null;
+
+        int hash = hash(key);
+        prepareBin(hash);
+        Entry<K, V> entry = findEntry(table, hash, key);
+        if (entry == null || entry.value == null) {
+            return null;
+        }
+
+        int expectedModCount = modCount;
+        V value = remappingFunction.apply(key, entry.value);
+        checkModCount(expectedModCount);
+        if (value == null) {
+            removeEntry(hash, key);
+        } else {
+            setValue(entry, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        if (key == null) return null;
+
+        int hash = hash(key);
+        int index = prepareBin(hash);
+        Entry<K, V> entry = findEntry(table, hash, key);
+
+        int expectedModCount = modCount;
+        V value = remappingFunction.apply(key, entry != null ? entry.value : null);
+        checkModCount(expectedModCount);
+        if (entry != null) {
+            if (value == null) {
+                removeEntry(hash, key);
+            } else {
+                setValue(entry, value);
+            }
+        } else if (value != null) {
+            insert(index, hash, key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        if (key == null) return null;
+
+        int hash = hash(key);
+        int index = prepareBin(hash);
+        Entry<K, V> entry = findEntry(table, hash, key);
+        if (entry == null) {
+            insert(index, hash, key, value);
+            return value;
+        }
+        if (entry.value == null) {
+            setValue(entry, value);
+            return value;
+        }
+
+        int expectedModCount = modCount;
+        V newValue = remappingFunction.apply(entry.value, value);
+        checkModCount(expectedModCount);
+        if (newValue == null) {
+            removeEntry(hash, key);
+        } else {
+            setValue(entry, newValue);
+        }
+        return newValue;
+    }
+
+    // Обход без создания итератора и других объектов
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        if (oldTable != null) {
+            completeMigration();
+        }
+        int expectedModCount = modCount;
+        for (Entry<K, V> head : table) {
+            if (head instanceof TreeBin) {
+                forEachInTree(((TreeBin<K, V>) head).root, action);
+            } else {
+                for (Entry<K, V> current = head; current != null; current = current.next) {
+                    action.accept(current.key, current.value);
+                }
+            }
+            checkModCount(expectedModCount);
+        }
+    }
+
+    private static <K, V> void forEachInTree(TreeNode<K, V> node, BiConsumer<? super K, ? super V> action) {
+        if (node != null) {
+            forEachInTree(node.left, action);
+            action.accept(node.key, node.value);
+            forEachInTree(node.right, action);
+        }
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        if (oldTable != null) {
+            completeMigration();
+        }
+        int expectedModCount = modCount;
+        for (Entry<K, V> head : table) {
+            if (head instanceof TreeBin) {
+                replaceAllInTree(((TreeBin<K, V>) head).root, function);
+            } else {
+                for (Entry<K, V> current = head; current != null; current = current.next) {
+                    replaceValue(current, function);
+                }
+            }
+            checkModCount(expectedModCount);
+        }
+        // Вытеснение - после обхода, чтобы не менять таблицу во время него
+        if (evictionPolicy != null) {
+            evict();
+        }
+    }
+
+    private void replaceAllInTree(TreeNode<K, V> node, BiFunction<? super K, ? super V, ? extends V> function) {
+        if (node != null) {
+            replaceAllInTree(node.left, function);
+            replaceValue(node, function);
+            replaceAllInTree(node.right, function);
+        }
+    }
+
+    private void replaceValue(Entry<K, V> entry, BiFunction<? super K, ? super V, ? extends V> function) {
+        entry.value = function.apply(entry.key, entry.value);
+        if (evictionPolicy != null) {
+            updateWeight(entry);
+        }
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        Arrays.fill(table, null);
+        oldTable = null;
+        size = 0;
+        if (evictionPolicy != null) {
+            for (Entry<K, V> queue : Arrays.asList(windowQueue, probationQueue, protectedQueue)) {
+                queue.before = queue;
+                queue.after = queue;
+            }
+            totalWeight = 0;
+            windowWeight = 0;
+            protectedWeight = 0;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<V> values() {
+        if (values == null) {
+            values = new Values();
+        }
+        return values;
+    }
+
+    // Параллельная загрузка: таблица сразу нужного размера заполняется в пуле fork-join.
+    // 1) для частей входа параллельно вычисляются ключи, значения и хэши;
+    // 2) элементы раскладываются по диапазонам ячеек (устойчивая сортировка подсчётом);
+    // 3) каждый диапазон ячеек заполняет отдельная задача - задачи не пересекаются по ячейкам,
+    //    поэтому блокировки не нужны.
+    // При повторе ключа остаётся значение, которое позже во входном списке (как при последовательном put).
+    // Ключи null пропускаются.
+    public static <T, K, V> MyHashMap<K, V> parallelBuild(List<? extends T> source,
+                                                         Function<? super T, ? extends K> keyMapper,
+                                                         Function<? super T, ? extends V> valueMapper) {
+        return parallelBuild(source, keyMapper, valueMapper, ForkJoinPool.commonPool());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, K, V> MyHashMap<K, V> parallelBuild(List<? extends T> source,
+                                                         Function<? super T, ? extends K> keyMapper,
+                                                         Function<? super T, ? extends V> valueMapper,
+                                                         ForkJoinPool pool) {
+        Objects.requireNonNull(keyMapper, "keyMapper не может быть null");
+        Objects.requireNonNull(valueMapper, "valueMapper не может быть null");
+        Objects.requireNonNull(pool, "pool не может быть null");
+        List<? extends T> input = source instanceof RandomAccess ? source : List.copyOf(source);
+        int count = input.size();
+
+        MyHashMap<K, V> map = new MyHashMap<>(
+                (int) Math.min(MAXIMUM_CAPACITY, (long) (count / DEFAULT_LOAD_FACTOR) + 1), DEFAULT_LOAD_FACTOR);
+        Entry<K, V>[] tab = map.table;
+        int parallelism = pool.getParallelism();
+        int chunks = Math.max(1, Math.min(count / PARALLEL_CHUNK_MIN_SIZE, parallelism * 4));
+        int ranges = Math.max(1, Math.min(tab.length, parallelism * 4));
+
+        // 1) ключи, значения, хэши и номер диапазона ячеек для каждого элемента
+        Object[] keys = new Object[count];
+        Object[] values = new Object[count];
+        int[] hashes = new int[count];
+        int[][] rangeCounts = new int[chunks][ranges];
+        runParallel(pool, chunks, chunk -> {
+            int[] counts = rangeCounts[chunk];
+            for (int i = chunkStart(chunk, chunks, count), end = chunkStart(chunk + 1, chunks, count); i < end; i++) {
+                T element = input.get(i);
+                K key = keyMapper.apply(element);
+                if (key == null) {
+                    continue;
+                }
+                keys[i] = key;
+                values[i] = valueMapper.apply(element);
+                hashes[i] = map.hash(key);
+                counts[rangeOf(getIndex(hashes[i], tab.length), ranges, tab.length)]++;
+            }
+        });
+
+        // 2) смещения частей внутри диапазонов и раскладка номеров элементов
+        int[] rangeStarts = new int[ranges + 1];
+        int[][] offsets = new int[chunks][ranges];
+        int position = 0;
+        for (int range = 0; range < ranges; range++) {
+            rangeStarts[range] = position;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                offsets[chunk][range] = position;
+                position += rangeCounts[chunk][range];
+            }
+        }
+        rangeStarts[ranges] = position;
+        int[] order = new int[position];
+        runParallel(pool, chunks, chunk -> {
+            int[] next = offsets[chunk];
+            for (int i = chunkStart(chunk, chunks, count), end = chunkStart(chunk + 1, chunks, count); i < end; i++) {
+                if (keys[i] != null) {
+                    order[next[rangeOf(getIndex(hashes[i], tab.length), ranges, tab.length)]++] = i;
+                }
+            }
+        });
+
+        // 3) заполнение диапазонов ячеек
+        AtomicInteger size = new AtomicInteger();
+        runParallel(pool, ranges, range -> {
+            int added = 0;
+            for (int j = rangeStarts[range]; j < rangeStarts[range + 1]; j++) {
+                int i = order[j];
+                if (putIntoBin(tab, getIndex(hashes[i], tab.length), hashes[i], (K) keys[i], (V) values[i])) {
+                    added++;
+                }
+            }
+            size.addAndGet(added);
+        });
+        map.size = size.get();
+        map.modCount++;
+        return map;
+    }
+
+    // Пустая таблица, в которую expectedSize элементов помещаются без увеличения (загрузка снимка)
+    static <K, V> MyHashMap<K, V> presized(int expectedSize) {
+        return new MyHashMap<>(
+                (int) Math.min(MAXIMUM_CAPACITY, (long) (expectedSize / DEFAULT_LOAD_FACTOR) + 1), DEFAULT_LOAD_FACTOR);
+    }
+
+    // Вставка при загрузке в таблицу из presized: порог, перенос и вытеснение не проверяются
+    void putPresized(K key, V value) {
+        int hash = hash(key);
+        if (putIntoBin(table, getIndex(hash, table.length), hash, key, value)) {
+            size++;
+            modCount++;
+        }
+    }
+
+    // Неизменяемая копия с совершенной хэш-функцией для частого чтения (см. FrozenMap)
+    public FrozenMap<K, V> freeze() {
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        int[] count = new int[1];
+        forEach((key, value) -> {
+            keys[count[0]] = key;
+            values[count[0]] = value;
+            count[0]++;
+        });
+        return new FrozenMap<>(keys, values);
+    }
+
+    // Параллельный обход: таблица делится на диапазоны ячеек (см. entrySet().spliterator())
+    public void parallelForEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        parallelEntries().forEach(entry -> action.accept(entry.getKey(), entry.getValue()));
+    }
+
+    // Параллельная свёртка: transformer преобразует пару (null - пара пропускается),
+    // reducer объединяет результаты. Возвращает null, если нечего объединять
+    public <U> U parallelReduce(BiFunction<? super K, ? super V, ? extends U> transformer,
+                                BinaryOperator<U> reducer) {
+        Objects.requireNonNull(transformer);
+        Objects.requireNonNull(reducer);
+        return parallelEntries()
+                .<U>map(entry -> transformer.apply(entry.getKey(), entry.getValue()))
+                .filter(Objects::nonNull)
+                .reduce(reducer)
+                .orElse(null);
+    }
+
+    private Stream<Map.Entry<K, V>> parallelEntries() {
+        if (oldTable != null) {
+            completeMigration();
+        }
+        return StreamSupport.stream(new BinSpliterator(table, 0, table.length, modCount), true);
+    }
+
+    // Вставка или обновление в ячейке index без увеличения таблицы и учёта размера; true - ключ новый
+    private static <K, V> boolean putIntoBin(Entry<K, V>[] tab, int index, int hash, K key, V value) {
+        Entry<K, V> head = tab[index];
+        if (head instanceof TreeBin) {
+            TreeNode<K, V> existing = ((TreeBin<K, V>) head).putTreeNode(
+                    new TreeNode<>(hash, key, value, comparableClassFor(key)));
+            if (existing != null) {
+                existing.value = value;
+                return false;
+            }
+            return true;
+        }
+        int binCount = 0;
+        for (Entry<K, V> current = head; current != null; current = current.next) {
+            if (current.hash == hash && current.key.equals(key)) {
+                current.value = value;
+                return false;
+            }
+            binCount++;
+        }
+        Entry<K, V> newEntry = new Entry<>(hash, key, value);
+        newEntry.next = head;
+        tab[index] = newEntry;
+        if (binCount + 1 >= TREEIFY_THRESHOLD) {
+            treeifyBin(tab, index);
+        }
+        return true;
+    }
+
+    // Начало части chunk из chunks частей отрезка [0, count)
+    private static int chunkStart(int chunk, int chunks, int count) {
+        return (int) ((long) count * chunk / chunks);
+    }
+
+    // Номер диапазона ячеек, в который попадает ячейка index
+    private static int rangeOf(int index, int ranges, int length) {
+        return (int) ((long) index * ranges / length);
+    }
+
+    // Выполнение body(0..tasks-1) в пуле fork-join делением диапазона пополам
+    private static void runParallel(ForkJoinPool pool, int tasks, IntConsumer body) {
+        pool.invoke(new RangeTask(0, tasks, body));
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, body), new RangeTask(middle, to, body));
+        }
+    }
+
+    // Ячейка ключа в новой таблице: если идёт перенос, ячейка ключа переносится первой
+    private int prepareBin(int hash) {
+        if (oldTable != null) {
+            migrateBucket(getIndex(hash, oldTable.length));
+            migrateStep();
+        }
+        return getIndex(hash, table.length);
+    }
+
+    // Вставка ключа, которого точно нет в ячейке index
+    private void insert(int index, int hash, K key, V value) {
+        Entry<K, V> head = table[index];
+        if (head instanceof TreeBin) {
+            TreeNode<K, V> node = new TreeNode<>(hash, key, value, comparableClassFor(key));
+            ((TreeBin<K, V>) head).putTreeNode(node);
+            if (evictionPolicy != null) {
+                linkNew(node);
+            }
+        } else {
+            Entry<K, V> newEntry = new Entry<>(hash, key, value);
+            newEntry.next = head;
+            table[index] = newEntry;
+            if (evictionPolicy != null) {
+                linkNew(newEntry);
+            }
+            if (chainLength(newEntry) >= TREEIFY_THRESHOLD) {
+                treeifyBin(table, index);
+            }
+        }
+        modCount++;
+        if (++size > threshold) {
+            resize();
+        }
+        if (evictionPolicy != null) {
+            evict();
+        }
+    }
+
+    // Новое значение найденного элемента
+    private void setValue(Entry<K, V> entry, V value) {
+        entry.value = value;
+        if (evictionPolicy != null) {
+            afterUpdate(entry);
+        }
+    }
+
+    private void checkModCount(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    // Поиск элемента в цепочке (или дереве) указанной таблицы
+    private Entry<K, V> findEntry(Entry<K, V>[] tab, int hash, Object key) {
+        Entry<K, V> current = tab[getIndex(hash, tab.length)];
+        if (current instanceof TreeBin) {
+            return ((TreeBin<K, V>) current).find(hash, key);
+        }
+        while (current != null) {
+            if (current.hash == hash && current.key.equals(key)) {
+                return current;
+            }
+            current = current.next;
+        }
+        return null;
+    }
+
+    // Увеличение таблицы в 2 раза. Элементы переносятся не сразу,
+    // а по migrationStep ячеек за каждую следующую операцию
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        if (table.length >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        if (oldTable != null) {
+            // Предыдущий перенос ещё не закончен (только если размер превысил порог сразу после
+            // увеличения) - завершаем его
+            completeMigration();
+        }
+        int newCapacity = table.length * 2;
+        oldTable = table;
+        table = (Entry<K, V>[]) new Entry<?, ?>[newCapacity];
+        migrationIndex = 0;
+        threshold = computeThreshold(newCapacity);
+        // До следующего увеличения не меньше threshold - size вставок, и каждая переносит порцию ячеек.
+        // При малом коэффициенте загрузки вставок меньше, чем ячеек / MIGRATION_STEP, поэтому порция
+        // увеличивается, чтобы перенос всегда заканчивался раньше и не выполнялся целиком за одну операцию
+        long room = Math.max(1, (long) threshold - size);
+        migrationStep = (int) Math.max(MIGRATION_STEP, (oldTable.length + room - 1) / room);
+        if (statistics != null) {
+            statistics.resizeCount++;
+        }
+    }
+
+    // Перенос очередной порции ячеек старой таблицы
+    private void migrateStep() {
+        int limit = (int) Math.min((long) migrationIndex + migrationStep, oldTable.length);
+        for (; migrationIndex < limit; migrationIndex++) {
+            migrateBucket(migrationIndex);
+        }
+        if (migrationIndex == oldTable.length) {
+            oldTable = null; // перенос завершён
+        }
+    }
+
+    private void completeMigration() {
+        for (; migrationIndex < oldTable.length; migrationIndex++) {
+            migrateBucket(migrationIndex);
+        }
+        oldTable = null;
+    }
+
+    // Перенос одной цепочки (или дерева) старой таблицы в новую
+    private void migrateBucket(int oldIndex) {
+        Entry<K, V> head = oldTable[oldIndex];
+        if (head == null) {
+            return;
+        }
+        oldTable[oldIndex] = null;
+
+        Entry<K, V> current = head instanceof TreeBin ? ((TreeBin<K, V>) head).toChain() : head;
+        // Ячейки новой таблицы, куда попали элементы (обычно не больше двух)
+        int[] targets = new int[2];
+        int targetCount = 0;
+        while (current != null) {
+            Entry<K, V> next = current.next;
+            int index = getIndex(current.hash, table.length);
+            current.next = table[index];
+            table[index] = current;
+            current = next;
+            if (!contains(targets, targetCount, index)) {
+                if (targetCount == targets.length) {
+                    targets = Arrays.copyOf(targets, targetCount * 2);
+                }
+                targets[targetCount++] = index;
+            }
+        }
+
+        // Длинная цепочка могла целиком попасть в одну ячейку новой таблицы
+        for (int i = 0; i < targetCount; i++) {
+            if (chainLength(table[targets[i]]) >= TREEIFY_THRESHOLD) {
+                treeifyBin(table, targets[i]);
+            }
+        }
+    }
+
+    private static boolean contains(int[] array, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Замена длинной цепочки на сбалансированное дерево
+    private static <K, V> void treeifyBin(Entry<K, V>[] tab, int index) {
+        if (tab.length < MIN_TREEIFY_CAPACITY) {
+            return;
+        }
+        TreeBin<K, V> bin = new TreeBin<>();
+        for (Entry<K, V> current = tab[index]; current != null; current = current.next) {
+            TreeNode<K, V> node = new TreeNode<>(current.hash, current.key, current.value,
+                    comparableClassFor(current.key));
+            bin.putTreeNode(node);
+            replaceInQueue(current, node);
+        }
+        tab[index] = bin;
+    }
+
+    // Новый узел занимает место старого в очереди вытеснения (при перестройке ячейки в дерево и обратно)
+    private static <K, V> void replaceInQueue(Entry<K, V> from, Entry<K, V> to) {
+        if (from.before == null) {
+            return;
+        }
+        to.before = from.before;
+        to.after = from.after;
+        to.weight = from.weight;
+        to.queue = from.queue;
+        to.before.after = to;
+        to.after.before = to;
+    }
+
+    private static int chainLength(Entry<?, ?> head) {
+        int length = 0;
+        for (Entry<?, ?> current = head; current != null; current = current.next) {
+            length++;
+        }
+        return length;
+    }
+
+    private int computeThreshold(int capacity) {
+        return (int) Math.min((long) capacity * loadFactor, Integer.MAX_VALUE);
+    }
+
+    // Хэш ключа после перемешивания
+    private int hash(Object key) {
+        return hashMixer.mix(key.hashCode());
+    }
+
+    // Вспомогательный метод для вычисления индекса: длина таблицы - степень двойки,
+    // поэтому вместо деления с остатком достаточно маски (и индекс никогда не отрицательный)
+    private static int getIndex(int hash, int length) {
+        return hash & (length - 1);
+    }
+
+    // Ближайшая степень двойки, не меньшая capacity
+    private static int tableSizeFor(int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    // Метод для вычисления размера
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Счётчики попаданий, промахов и вытеснений (ведутся только в ограниченном режиме)
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount);
+    }
+
+    // Суммарный вес элементов в ограниченном режиме
+    public long weightedSize() {
+        return totalWeight;
+    }
+
+    // Включение статистики (гистограмма цепочек, число проверенных узлов при get, увеличения таблицы,
+    // оценка памяти). Повторный вызов возвращает тот же объект
+    public MyHashMapStatistics enableStatistics() {
+        if (statistics == null) {
+            statistics = new MyHashMapStatistics(this);
+        }
+        return statistics;
+    }
+
+    // Выключение статистики; зарегистрированный в JMX объект снимается с регистрации
+    public void disableStatistics() {
+        if (statistics != null) {
+            statistics.unregister();
+            statistics = null;
+        }
+    }
+
+    // Текущая статистика или null, если она выключена
+    public MyHashMapStatistics statistics() {
+        return statistics;
+    }
+
+    private Entry<K, V> newQueue() {
+        Entry<K, V> queue = new Entry<>(0, null, null);
+        queue.before = queue;
+        queue.after = queue;
+        return queue;
+    }
+
+    private static <K, V> void linkLast(Entry<K, V> queue, Entry<K, V> entry) {
+        entry.before = queue.before;
+        entry.after = queue;
+        queue.before.after = entry;
+        queue.before = entry;
+    }
+
+    private static <K, V> void unlinkFromQueue(Entry<K, V> entry) {
+        entry.before.after = entry.after;
+        entry.after.before = entry.before;
+    }
+
+    // Новый элемент попадает в конец окна
+    private void linkNew(Entry<K, V> entry) {
+        entry.weight = weigh(entry);
+        entry.queue = WINDOW;
+        linkLast(windowQueue, entry);
+        totalWeight += entry.weight;
+        windowWeight += entry.weight;
+        if (sketch != null) {
+            // size увеличивается после linkNew, с новым элементом их size + 1
+            if (size >= sketch.capacity()) {
+                sketch.ensureCapacity(size + 1L);
+            }
+            sketch.increment(entry.hash);
+        }
+    }
+
+    private void unlink(Entry<K, V> entry) {
+        unlinkFromQueue(entry);
+        totalWeight -= entry.weight;
+        if (entry.queue == WINDOW) {
+            windowWeight -= entry.weight;
+        } else if (entry.queue == PROTECTED) {
+            protectedWeight -= entry.weight;
+        }
+        entry.before = null;
+        entry.after = null;
+    }
+
+    private void afterRead(int hash, Entry<K, V> entry) {
+        if (sketch != null) {
+            sketch.increment(hash);
+        }
+        if (entry == null) {
+            missCount++;
+            return;
+        }
+        hitCount++;
+        onAccess(entry);
+    }
+
+    // Новое значение существующего ключа: вес мог измениться
+    private void afterUpdate(Entry<K, V> entry) {
+        updateWeight(entry);
+        if (sketch != null) {
+            sketch.increment(entry.hash);
+        }
+        onAccess(entry);
+        evict();
+    }
+
+    private void updateWeight(Entry<K, V> entry) {
+        int newWeight = weigh(entry);
+        int delta = newWeight - entry.weight;
+        entry.weight = newWeight;
+        totalWeight += delta;
+        if (entry.queue == WINDOW) {
+            windowWeight += delta;
+        } else if (entry.queue == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    // Обращение к элементу: в LRU и окне - перенос в конец очереди,
+    // элемент пробного сегмента переходит в защищённый
+    private void onAccess(Entry<K, V> entry) {
+        if (entry.queue == WINDOW) {
+            unlinkFromQueue(entry);
+            linkLast(windowQueue, entry);
+        } else if (entry.queue == PROTECTED) {
+            unlinkFromQueue(entry);
+            linkLast(protectedQueue, entry);
+        } else {
+            unlinkFromQueue(entry);
+            entry.queue = PROTECTED;
+            linkLast(protectedQueue, entry);
+            protectedWeight += entry.weight;
+            // Переполненный защищённый сегмент возвращает старые элементы в пробный
+            while (protectedWeight > protectedMaximum && protectedQueue.after != protectedQueue) {
+                Entry<K, V> demoted = protectedQueue.after;
+                unlinkFromQueue(demoted);
+                protectedWeight -= demoted.weight;
+                demoted.queue = PROBATION;
+                linkLast(probationQueue, demoted);
+            }
+        }
+    }
+
+    private void evict() {
+        if (evictionPolicy == EvictionPolicy.LRU) {
+            while (totalWeight > maximumWeight) {
+                evictEntry(windowQueue.after);
+            }
+            return;
+        }
+
+        // Старые элементы окна становятся кандидатами на вход в основную область
+        while (windowWeight > windowMaximum) {
+            Entry<K, V> candidate = windowQueue.after;
+            unlinkFromQueue(candidate);
+            windowWeight -= candidate.weight;
+            candidate.queue = PROBATION;
+            linkLast(probationQueue, candidate);
+        }
+        while (totalWeight > maximumWeight) {
+            Entry<K, V> victim = probationQueue.after;
+            Entry<K, V> candidate = probationQueue.before;
+            if (victim == probationQueue) {
+                // Пробный сегмент пуст
+                evictEntry(protectedQueue.after != protectedQueue ? protectedQueue.after : windowQueue.after);
+            } else if (victim == candidate) {
+                evictEntry(victim);
+            } else {
+                // Кандидат остаётся, только если к нему обращаются чаще, чем к жертве
+                boolean admit = sketch.frequency(candidate.hash) > sketch.frequency(victim.hash);
+                evictEntry(admit ? victim : candidate);
+            }
+        }
+    }
+
+    private void evictEntry(Entry<K, V> entry) {
+        removeEntry(entry.hash, entry.key);
+        evictionCount++;
+    }
+
+    private int weigh(Entry<K, V> entry) {
+        int weight = weigher.weigh(entry.key, entry.value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Вес элемента не может быть отрицательным: " + weight);
+        }
+        return weight;
+    }
+
+    // Текущая длина таблицы (для тестов и диагностики)
+    int capacity() {
+        return table.length;
+    }
+
+    // Число слов count-min sketch W-TinyLFU (0 без него; для тестов)
+    int sketchCapacity() {
+        return sketch != null ? sketch.capacity() : 0;
+    }
+
+    // Идёт ли сейчас постепенный перенос элементов
+    boolean isMigrating() {
+        return oldTable != null;
+    }
+
+    // Хранится ли ячейка ключа в виде дерева (для тестов и диагностики)
+    boolean isTreeified(Object key) {
+        if (oldTable != null) {
+            completeMigration();
+        }
+        return table[getIndex(hash(key), table.length)] instanceof TreeBin;
+    }
+
+    // Длины цепочек (размеры деревьев) по всем ячейкам - для оценки распределения ключей
+    int[] bucketSizes() {
+        if (oldTable != null) {
+            completeMigration();
+        }
+        int[] sizes = new int[table.length];
+        for (int i = 0; i < table.length; i++) {
+            sizes[i] = table[i] instanceof TreeBin ? ((TreeBin<K, V>) table[i]).count : chainLength(table[i]);
+        }
+        return sizes;
+    }
+
+    // Количество узлов, которые просматривает поиск ключа (для дерева - его высота).
+    // Таблица не меняется, перенос ячеек не выполняется
+    private int probeCount(int hash, Object key) {
+        int probes = probeCount(table, hash, key);
+        if (oldTable != null && findEntry(table, hash, key) == null) {
+            probes += probeCount(oldTable, hash, key);
+        }
+        return probes;
+    }
+
+    private static int probeCount(Entry<?, ?>[] tab, int hash, Object key) {
+        Entry<?, ?> current = tab[getIndex(hash, tab.length)];
+        if (current instanceof TreeBin<?, ?> bin) {
+            return bin.root != null ? bin.root.height : 0;
+        }
+        int probes = 0;
+        while (current != null) {
+            probes++;
+            if (current.hash == hash && current.key.equals(key)) {
+                break;
+            }
+            current = current.next;
+        }
+        return probes;
+    }
+
+    // Гистограмма длин цепочек по обеим таблицам (см. MyHashMapMXBean), без переноса ячеек
+    long[] chainLengthHistogram() {
+        long[] histogram = new long[TREEIFY_THRESHOLD + 1];
+        addToHistogram(table, histogram);
+        if (oldTable != null) {
+            addToHistogram(oldTable, histogram);
+        }
+        return histogram;
+    }
+
+    private static void addToHistogram(Entry<?, ?>[] tab, long[] histogram) {
+        for (Entry<?, ?> head : tab) {
+            int length = head instanceof TreeBin<?, ?> bin ? bin.count : chainLength(head);
+            histogram[Math.min(length, histogram.length - 1)]++;
+        }
+    }
+
+    // Ячейки-деревья по обеим таблицам, как в chainLengthHistogram()
+    int treeifiedBins() {
+        int count = countTreeBins(table);
+        if (oldTable != null) {
+            count += countTreeBins(oldTable);
+        }
+        return count;
+    }
+
+    private static int countTreeBins(Entry<?, ?>[] tab) {
+        int count = 0;
+        for (Entry<?, ?> head : tab) {
+            if (head instanceof TreeBin) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long countTreeNodes(Entry<?, ?>[] tab) {
+        long count = 0;
+        for (Entry<?, ?> head : tab) {
+            if (head instanceof TreeBin<?, ?> bin) {
+                count += bin.count;
+            }
+        }
+        return count;
+    }
+
+    // Оценка памяти при сжатых указателях: заголовок массива 16 байт и 4 байта на ссылку,
+    // узел цепочки - 48 байт, узел дерева - 64, ячейка-дерево - 56. Ключи и значения не учитываются
+    long estimatedBytes() {
+        long bytes = 16 + 4L * table.length;
+        long treeNodes = countTreeNodes(table);
+        if (oldTable != null) {
+            bytes += 16 + 4L * oldTable.length;
+            treeNodes += countTreeNodes(oldTable);
+        }
+        return bytes + 56L * treeifiedBins() + 64L * treeNodes + 48L * (size - treeNodes);
+    }
+
+    // Spliterator по диапазону ячеек [index, fence): trySplit делит диапазон пополам,
+    // поэтому параллельные потоки обходят непересекающиеся части таблицы
+    private final class BinSpliterator implements Spliterator<Map.Entry<K, V>> {
+        private final Entry<K, V>[] tab;
+        private final int expectedModCount;
+        private final int fence;
+        private int index;
+        // Оставшиеся элементы текущей ячейки (для tryAdvance)
+        private final ArrayDeque<Entry<K, V>> pending = new ArrayDeque<>();
+
+        BinSpliterator(Entry<K, V>[] tab, int index, int fence, int expectedModCount) {
+            this.tab = tab;
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (!pending.isEmpty() || middle <= index) {
+                return null;
+            }
+            BinSpliterator prefix = new BinSpliterator(tab, index, middle, expectedModCount);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            while (pending.isEmpty() && index < fence) {
+                Entry<K, V> head = tab[index++];
+                if (head instanceof TreeBin) {
+                    addTree(((TreeBin<K, V>) head).root);
+                } else {
+                    for (Entry<K, V> current = head; current != null; current = current.next) {
+                        pending.add(current);
+                    }
+                }
+            }
+            Entry<K, V> entry = pending.poll();
+            if (entry == null) {
+                checkModCount(expectedModCount);
+                return false;
+            }
+            action.accept(entry);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Map.Entry<K, V>> action) {
+            for (Entry<K, V> entry; (entry = pending.poll()) != null; ) {
+                action.accept(entry);
+            }
+            for (; index < fence; index++) {
+                Entry<K, V> head = tab[index];
+                if (head instanceof TreeBin) {
+                    forEachInTree(((TreeBin<K, V>) head).root, action);
+                } else {
+                    for (Entry<K, V> current = head; current != null; current = current.next) {
+                        action.accept(current);
+                    }
+                }
+            }
+            checkModCount(expectedModCount);
+        }
+
+        private void addTree(TreeNode<K, V> node) {
+            if (node != null) {
+                addTree(node.left);
+                pending.add(node);
+                addTree(node.right);
+            }
+        }
+
+        private void forEachInTree(TreeNode<K, V> node, Consumer<? super Map.Entry<K, V>> action) {
+            if (node != null) {
+                forEachInTree(node.left, action);
+                action.accept(node);
+                forEachInTree(node.right, action);
+            }
+        }
+
+        // Оценка по средней заполненности ячеек
+        @Override
+        public long estimateSize() {
+            return tab.length == 0 ? 0 : (long) size * (fence - index) / tab.length + pending.size();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
+    // Итератор по элементам таблицы. Перед обходом перенос из старой таблицы завершается,
+    // узлы очередного дерева собираются в очередь, чтобы удаление через итератор не сбивало обход.
+    // Fail-fast: вставка или удаление мимо итератора приводит к ConcurrentModificationException.
+    private abstract class HashIterator<T> implements Iterator<T> {
+        private final Entry<K, V>[] tab;
+        private final ArrayDeque<Entry<K, V>> treeNodes = new ArrayDeque<>();
+        // Текущая ячейка - дерево, и обход идёт по снимку его узлов, а не по ссылкам next
+        private boolean inTreeBin;
+        private int index;
+        private Entry<K, V> next;
+        private Entry<K, V> current;
+        private int expectedModCount;
+
+        HashIterator() {
+            if (oldTable != null) {
+                completeMigration();
+            }
+            tab = table;
+            expectedModCount = modCount;
+            advance(null);
+        }
+
+        abstract T map(Entry<K, V> entry);
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            checkModCount(expectedModCount);
+            Entry<K, V> entry = next;
+            if (entry == null) {
+                throw new NoSuchElementException();
+            }
+            advance(entry);
+            current = entry;
+            return map(entry);
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            checkModCount(expectedModCount);
+            removeEntry(current.hash, current.key);
+            if (current instanceof TreeNode && !(tab[getIndex(current.hash, tab.length)] instanceof TreeBin)) {
+                // Дерево стало цепочкой с новыми узлами - оставшиеся узлы заменяются ими
+                if (next instanceof TreeNode) {
+                    next = findEntry(tab, next.hash, next.key);
+                }
+                for (int i = treeNodes.size(); i > 0; i--) {
+                    Entry<K, V> node = treeNodes.poll();
+                    treeNodes.add(findEntry(tab, node.hash, node.key));
+                }
+            }
+            current = null;
+            expectedModCount = modCount;
+        }
+
+        // Следующий элемент после from: дальше по дереву, по цепочке или в следующих ячейках.
+        // После обхода снимка дерева переход сразу к следующей ячейке: если дерево стало цепочкой,
+        // ссылки next новых узлов ведут к уже выданным элементам
+        private void advance(Entry<K, V> from) {
+            Entry<K, V> candidate;
+            if (!treeNodes.isEmpty()) {
+                candidate = treeNodes.poll();
+            } else {
+                candidate = from != null && !inTreeBin ? from.next : null;
+            }
+            while (candidate == null && index < tab.length) {
+                Entry<K, V> head = tab[index++];
+                inTreeBin = head instanceof TreeBin;
+                if (inTreeBin) {
+                    collect(((TreeBin<K, V>) head).root, treeNodes);
+                    candidate = treeNodes.poll();
+                } else {
+                    candidate = head;
+                }
+            }
+            next = candidate;
+        }
+
+        private void collect(TreeNode<K, V> node, ArrayDeque<Entry<K, V>> target) {
+            if (node != null) {
+                collect(node.left, target);
+                target.add(node);
+                collect(node.right, target);
+            }
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new HashIterator<>() {
+                @Override
+                Map.Entry<K, V> map(Entry<K, V> entry) {
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            if (oldTable != null) {
+                completeMigration();
+            }
+            return new BinSpliterator(table, 0, table.length, modCount);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> other) || other.getKey() == null) {
+                return false;
+            }
+            Entry<K, V> entry = getEntry(hash(other.getKey()), other.getKey());
+            return entry != null && Objects.equals(entry.value, other.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            Object key = ((Map.Entry<?, ?>) o).getKey();
+            removeEntry(hash(key), key);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            MyHashMap.this.clear();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+        @Override
+        public Iterator<K> iterator() {
+            return new HashIterator<>() {
+                @Override
+                K map(Entry<K, V> entry) {
+                    return entry.key;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o != null && removeEntry(hash(o), o) != null;
+        }
+
+        @Override
+        public void clear() {
+            MyHashMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new HashIterator<>() {
+                @Override
+                V map(Entry<K, V> entry) {
+                    return entry.value;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            MyHashMap.this.clear();
+        }
+    }
+
+    // Класс ключа, если он сравним сам с собой (class C implements Comparable<C>), иначе null
+    static Class<?> comparableClassFor(Object key) {
+        if (key instanceof Comparable) {
+            Class<?> keyClass = key.getClass();
+            if (keyClass == String.class) {
+                return keyClass;
+            }
+            for (Type type : keyClass.getGenericInterfaces()) {
+                if (type instanceof ParameterizedType parameterized
+                        && parameterized.getRawType() == Comparable.class
+                        && parameterized.getActualTypeArguments()[0] == keyClass) {
+                    return keyClass;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Узел дерева в ячейке
+    private static final class TreeNode<K, V> extends Entry<K, V> {
+        final Class<?> comparableClass;
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        int height = 1;
+
+        TreeNode(int hash, K key, V value, Class<?> comparableClass) {
+            super(hash, key, value);
+            this.comparableClass = comparableClass;
+        }
+    }
+
+    // Ячейка с АВЛ-деревом вместо цепочки. Узлы упорядочены по хэшу,
+    // затем сравнимые ключи - по compareTo, несравнимые идут после них.
+    // Поэтому даже при флуде одинаковыми хэшами поиск занимает O(log n) для Comparable ключей.
+    private static final class TreeBin<K, V> extends Entry<K, V> {
+        TreeNode<K, V> root;
+        int count;
+        private boolean removed;
+
+        TreeBin() {
+            super(0, null, null);
+        }
+
+        TreeNode<K, V> find(int hash, Object key) {
+            return find(root, hash, key, comparableClassFor(key));
+        }
+
+        // Вставка нового узла. Если ключ уже есть - возвращает его узел без изменений
+        TreeNode<K, V> putTreeNode(TreeNode<K, V> newNode) {
+            TreeNode<K, V> existing = find(root, newNode.hash, newNode.key, newNode.comparableClass);
+            if (existing != null) {
+                return existing;
+            }
+            root = insert(root, newNode);
+            count++;
+            return null;
+        }
+
+        void removeTreeNode(TreeNode<K, V> node) {
+            removed = false;
+            root = remove(root, node);
+            if (removed) {
+                count--;
+            }
+        }
+
+        // Преобразование дерева обратно в обычную цепочку
+        Entry<K, V> toChain() {
+            return collect(root, null);
+        }
+
+        private static <K, V> Entry<K, V> collect(TreeNode<K, V> node, Entry<K, V> head) {
+            if (node == null) {
+                return head;
+            }
+            head = collect(node.left, head);
+            Entry<K, V> entry = new Entry<>(node.hash, node.key, node.value);
+            replaceInQueue(node, entry);
+            entry.next = head;
+            return collect(node.right, entry);
+        }
+
+        private static <K, V> TreeNode<K, V> find(TreeNode<K, V> node, int hash, Object key, Class<?> keyClass) {
+            while (node != null) {
+                int direction = compare(hash, key, keyClass, node);
+                if (direction < 0) {
+                    node = node.left;
+                } else if (direction > 0) {
+                    node = node.right;
+                } else {
+                    if (node.key == key || node.key.equals(key)) {
+                        return node;
+                    }
+                    // Порядок не определён - ключ может быть в любом поддереве
+                    TreeNode<K, V> found = find(node.right, hash, key, keyClass);
+                    if (found != null) {
+                        return found;
+                    }
+                    node = node.left;
+                }
+            }
+            return null;
+        }
+
+        // Направление поиска ключа относительно узла: <0 - влево, >0 - вправо, 0 - порядок не определён
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(int hash, Object key, Class<?> keyClass, TreeNode<?, ?> node) {
+            if (hash != node.hash) {
+                return hash < node.hash ? -1 : 1;
+            }
+            Class<?> nodeClass = node.comparableClass;
+            if (keyClass != null && nodeClass != null) {
+                if (keyClass != nodeClass) {
+                    return keyClass.getName().compareTo(nodeClass.getName());
+                }
+                return ((Comparable) key).compareTo(node.key);
+            }
+            if (keyClass != null) {
+                return -1;
+            }
+            return nodeClass != null ? 1 : 0;
+        }
+
+        private TreeNode<K, V> insert(TreeNode<K, V> node, TreeNode<K, V> newNode) {
+            if (node == null) {
+                return newNode;
+            }
+            int direction = compare(newNode.hash, newNode.key, newNode.comparableClass, node);
+            if (direction == 0) {
+                // Для вставки порядок нужен любой, но устойчивый
+                direction = System.identityHashCode(newNode.key) < System.identityHashCode(node.key) ? -1 : 1;
+            }
+            if (direction < 0) {
+                node.left = insert(node.left, newNode);
+            } else {
+                node.right = insert(node.right, newNode);
+            }
+            return balance(node);
+        }
+
+        private TreeNode<K, V> remove(TreeNode<K, V> node, TreeNode<K, V> target) {
+            if (node == null) {
+                return null;
+            }
+            if (node == target) {
+                removed = true;
+                if (node.left == null) {
+                    return node.right;
+                }
+                if (node.right == null) {
+                    return node.left;
+                }
+                // Заменяем удаляемый узел минимальным из правого поддерева
+                TreeNode<K, V> min = node.right;
+                while (min.left != null) {
+                    min = min.left;
+                }
+                min.right = removeMin(node.right);
+                min.left = node.left;
+                return balance(min);
+            }
+            int direction = compare(target.hash, target.key, target.comparableClass, node);
+            if (direction < 0) {
+                node.left = remove(node.left, target);
+            } else if (direction > 0) {
+                node.right = remove(node.right, target);
+            } else {
+                node.right = remove(node.right, target);
+                if (!removed) {
+                    node.left = remove(node.left, target);
+                }
+            }
+            return balance(node);
+        }
+
+        private TreeNode<K, V> removeMin(TreeNode<K, V> node) {
+            if (node.left == null) {
+                return node.right;
+            }
+            node.left = removeMin(node.left);
+            return balance(node);
+        }
+
+        private static int height(TreeNode<?, ?> node) {
+            return node != null ? node.height : 0;
+        }
+
+        private static void updateHeight(TreeNode<?, ?> node) {
+            node.height = Math.max(height(node.left), height(node.right)) + 1;
+        }
+
+        // Восстановление баланса АВЛ-дерева поворотами
+        private static <K, V> TreeNode<K, V> balance(TreeNode<K, V> node) {
+            updateHeight(node);
+            int balance = height(node.left) - height(node.right);
+            if (balance > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if (balance < -1) {
+                if (height(node.right.right) < height(node.right.left)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+            TreeNode<K, V> left = node.left;
+            node.left = left.right;
+            left.right = node;
+            updateHeight(node);
+            updateHeight(left);
+            return left;
+        }
+
+        private static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+            TreeNode<K, V> right = node.right;
+            node.right = right.left;
+            right.left = node;
+            updateHeight(node);
+            updateHeight(right);
+            return right;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package io.github.zaur2025.myhashmap;
+
+// Атрибуты MyHashMap для JMX (см. MyHashMapStatistics).
+// Значения читаются из другого потока без синхронизации и поэтому приблизительные.
+public interface MyHashMapMXBean {
+
+    int getSize();
+
+    // Длина основной таблицы
+    int getTableLength();
+
+    // Отношение размера к длине таблицы
+    double getLoad();
+
+    // Количество ячеек с цепочкой длины i для i < 8; последний элемент - 8 и больше (включая деревья)
+    long[] getChainLengthHistogram();
+
+    // Количество ячеек, хранящихся в виде дерева
+    int getTreeifiedBins();
+
+    // Количество get и просмотренных при них узлов
+    long getGetCount();
+
+    long getProbeCount();
+
+    double getAverageProbesPerGet();
+
+    // Количество увеличений таблицы
+    long getResizeCount();
+
+    // Оценка памяти самой таблицы: массивы и узлы, без ключей и значений
+    long getEstimatedBytes();
+
+    // Обнуление счётчиков get и увеличений
+    void resetCounters();
+}
@@ -0,0 +1,158 @@
+package io.github.zaur2025.myhashmap;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+// Двоичный снимок MyHashMap: запись в канал и загрузка обратно.
+// Формат: заголовок [MAGIC: 8][версия: 4][size() кодека ключа: 4][size() кодека значения: 4][число пар: 4],
+// затем пары [ключ: keyCodec.sizeOf][значение: valueCodec.sizeOf] подряд, без выравнивания.
+// Размеры кодеков в заголовке проверяются при загрузке, как в MappedHashMap.
+//
+// Запись идёт через буфер вне кучи блоками по BUFFER_BYTES, без промежуточных массивов пар.
+// При загрузке таблица сразу создаётся на число пар из заголовка, поэтому не увеличивается
+// и не переносит элементы; каждая пара сразу кладётся в свою ячейку.
+// Значения null форматом не поддерживаются.
+public class MyHashMapSerializer<K, V> {
+
+    private static final long MAGIC = 0x4D59484D534E5031L; // "MYHMSNP1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final ByteCodec<K> keyCodec;
+    private final ByteCodec<V> valueCodec;
+    // Наибольший размер одной пары: столько байт должно быть в буфере перед её чтением
+    private final int maxEntryBytes;
+
+    public MyHashMapSerializer(ByteCodec<K> keyCodec, ByteCodec<V> valueCodec) {
+        this.keyCodec = Objects.requireNonNull(keyCodec, "keyCodec не может быть null");
+        this.valueCodec = Objects.requireNonNull(valueCodec, "valueCodec не может быть null");
+        this.maxEntryBytes = Math.addExact(keyCodec.size(), valueCodec.size());
+    }
+
+    // Запись всех пар таблицы в канал. Канал не закрывается
+    public void write(MyHashMap<K, V> map, WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel, "channel не может быть null");
+        ByteBuffer buffer = DirectMemory.allocate(Math.max(BUFFER_BYTES, maxEntryBytes));
+        try {
+            buffer.putLong(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(keyCodec.size())
+                    .putInt(valueCodec.size())
+                    .putInt(map.size());
+            int[] written = new int[1];
+            IOException[] failure = new IOException[1];
+            map.forEach((key, value) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                if (value == null) {
+                    throw new IllegalArgumentException("Значение null не поддерживается форматом снимка, ключ " + key);
+                }
+                int keyBytes = keyCodec.sizeOf(key);
+                int entryBytes = keyBytes + valueCodec.sizeOf(value);
+                if (buffer.remaining() < entryBytes) {
+                    try {
+                        drain(buffer, channel);
+                    } catch (IOException e) {
+                        failure[0] = e;
+                        return;
+                    }
+                }
+                int position = buffer.position();
+                keyCodec.write(buffer, position, key);
+                valueCodec.write(buffer, position + keyBytes, value);
+                buffer.position(position + entryBytes);
+                written[0]++;
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            if (written[0] != map.size()) {
+                throw new IllegalStateException("Таблица изменилась во время записи снимка");
+            }
+            drain(buffer, channel);
+        } finally {
+            DirectMemory.free(buffer);
+        }
+    }
+
+    // Загрузка таблицы из канала, записанного методом write. Канал не закрывается
+    public MyHashMap<K, V> read(ReadableByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel, "channel не может быть null");
+        ByteBuffer buffer = DirectMemory.allocate(Math.max(BUFFER_BYTES, maxEntryBytes));
+        try {
+            buffer.limit(0);
+            boolean endOfStream = fill(buffer, channel, HEADER_BYTES);
+            if (buffer.remaining() < HEADER_BYTES) {
+                throw new EOFException("Снимок обрезан: нет заголовка");
+            }
+            if (buffer.getLong() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalArgumentException("Данные не являются снимком MyHashMap версии " + VERSION);
+            }
+            int fileKeySize = buffer.getInt();
+            int fileValueSize = buffer.getInt();
+            if (fileKeySize != keyCodec.size() || fileValueSize != valueCodec.size()) {
+                throw new IllegalArgumentException("Размеры ключа и значения в снимке (" + fileKeySize + ", "
+                        + fileValueSize + ") не совпадают с кодеками (" + keyCodec.size() + ", " + valueCodec.size() + ")");
+            }
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IllegalArgumentException("Снимок повреждён: число пар " + count);
+            }
+
+            MyHashMap<K, V> map = MyHashMap.presized(count);
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < maxEntryBytes && !endOfStream) {
+                    endOfStream = fill(buffer, channel, maxEntryBytes);
+                }
+                try {
+                    int position = buffer.position();
+                    K key = keyCodec.read(buffer, position);
+                    position += keyCodec.sizeOf(key);
+                    V value = valueCodec.read(buffer, position);
+                    position += valueCodec.sizeOf(value);
+                    if (position > buffer.limit()) {
+                        throw new IndexOutOfBoundsException(position);
+                    }
+                    buffer.position(position);
+                    map.putPresized(key, value);
+                } catch (IndexOutOfBoundsException e) {
+                    throw new EOFException("Снимок обрезан: прочитано " + i + " пар из " + count);
+                }
+            }
+            return map;
+        } finally {
+            DirectMemory.free(buffer);
+        }
+    }
+
+    // Запись накопленных байтов в канал; буфер после этого пуст
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Дочитывание из канала, пока в буфере не станет required байт или не кончатся данные.
+    // Возвращает true, если канал прочитан до конца
+    private static boolean fill(ByteBuffer buffer, ReadableByteChannel channel, int required) throws IOException {
+        buffer.compact();
+        try {
+            while (buffer.position() < required) {
+                if (channel.read(buffer) < 0) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.zaur2025.myhashmap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+// Статистика одного экземпляра MyHashMap. Создаётся методом MyHashMap.enableStatistics();
+// пока она не включена, таблица тратит на неё только проверку поля на null.
+// Счётчики ведёт поток, который работает с таблицей, без синхронизации (как и сама таблица).
+// Гистограмма и оценка памяти считаются при чтении атрибута обходом таблицы.
+public final class MyHashMapStatistics implements MyHashMapMXBean {
+
+    private static final String DOMAIN = "io.github.zaur2025.myhashmap";
+
+    private final MyHashMap<?, ?> map;
+    long getCount;
+    long probeCount;
+    long resizeCount;
+    private ObjectName objectName;
+
+    MyHashMapStatistics(MyHashMap<?, ?> map) {
+        this.map = map;
+    }
+
+    void recordGet(int probes) {
+        getCount++;
+        probeCount += probes;
+    }
+
+    @Override
+    public int getSize() {
+        return map.size();
+    }
+
+    @Override
+    public int getTableLength() {
+        return map.capacity();
+    }
+
+    @Override
+    public double getLoad() {
+        return (double) map.size() / map.capacity();
+    }
+
+    @Override
+    public long[] getChainLengthHistogram() {
+        return map.chainLengthHistogram();
+    }
+
+    @Override
+    public int getTreeifiedBins() {
+        return map.treeifiedBins();
+    }
+
+    @Override
+    public long getGetCount() {
+        return getCount;
+    }
+
+    @Override
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    @Override
+    public double getAverageProbesPerGet() {
+        long gets = getCount;
+        return gets == 0 ? 0.0 : (double) probeCount / gets;
+    }
+
+    @Override
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return map.estimatedBytes();
+    }
+
+    @Override
+    public void resetCounters() {
+        getCount = 0;
+        probeCount = 0;
+        resizeCount = 0;
+    }
+
+    // Регистрация в платформенном MBeanServer под именом
+    // io.github.zaur2025.myhashmap:type=MyHashMap,name=<name>
+    public synchronized ObjectName register(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Имя таблицы не может быть пустым");
+        }
+        if (objectName != null) {
+            throw new IllegalStateException("Статистика уже зарегистрирована как " + objectName);
+        }
+        try {
+            ObjectName newName = new ObjectName(DOMAIN + ":type=MyHashMap,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+            objectName = newName;
+            return newName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать статистику таблицы " + name, e);
+        }
+    }
+
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось снять регистрацию " + objectName, e);
+        } finally {
+            objectName = null;
+        }
+    }
+}
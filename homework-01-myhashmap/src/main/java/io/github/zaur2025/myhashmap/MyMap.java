@@ -0,0 +1,20 @@
+package io.github.zaur2025.myhashmap;
+
+// Общий контракт собственных реализаций хэш-таблиц.
+// Сигнатуры совпадают с java.util.Map, поэтому реализации взаимозаменяемы.
+// Ключ null не поддерживается: put игнорирует его, get/remove возвращают null.
+public interface MyMap<K, V> {
+
+    // Добавляет или обновляет значение, возвращает предыдущее значение или null
+    V put(K key, V value);
+
+    // Возвращает значение по ключу или null, если ключа нет
+    V get(Object key);
+
+    // Удаляет пару по ключу, возвращает удалённое значение или null
+    V remove(Object key);
+
+    int size();
+
+    boolean isEmpty();
+}
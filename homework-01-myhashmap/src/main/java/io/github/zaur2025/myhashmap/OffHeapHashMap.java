@@ -0,0 +1,53 @@
+package io.github.zaur2025.myhashmap;
+
+import java.nio.ByteBuffer;
+
+// Хэш-таблица, которая хранит ключи и значения вне кучи, в direct ByteBuffer
+// (устройство ячеек - в AbstractOffHeapHashMap).
+// В куче остаются только массив буферов и служебные поля, поэтому её размер не зависит
+// от количества элементов, а сборщику мусора нечего обходить.
+// Не потокобезопасна. Память освобождается явно методом close().
+public class OffHeapHashMap<K, V> extends AbstractOffHeapHashMap<K, V> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 1024;
+
+    public OffHeapHashMap(ByteCodec<K> keyCodec, ByteCodec<V> valueCodec) {
+        this(keyCodec, valueCodec, DEFAULT_EXPECTED_SIZE);
+    }
+
+    public OffHeapHashMap(ByteCodec<K> keyCodec, ByteCodec<V> valueCodec, int expectedSize) {
+        super(keyCodec, valueCodec);
+        initTable(expectedSize);
+    }
+
+    // Освобождение памяти. После закрытия любые операции завершаются IllegalStateException
+    @Override
+    public void close() {
+        if (segments == null) {
+            return;
+        }
+        free(segments);
+        segments = null;
+        size = 0;
+    }
+
+    @Override
+    ByteBuffer[] allocateSegments(int count, int segmentBytes) {
+        ByteBuffer[] newSegments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            newSegments[i] = DirectMemory.allocate(segmentBytes);
+        }
+        return newSegments;
+    }
+
+    @Override
+    void replaceSegments(ByteBuffer[] oldSegments) {
+        free(oldSegments);
+    }
+
+    private static void free(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            DirectMemory.free(buffer);
+        }
+    }
+}
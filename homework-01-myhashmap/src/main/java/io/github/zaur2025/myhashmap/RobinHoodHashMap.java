@@ -0,0 +1,225 @@
+package io.github.zaur2025.myhashmap;
+
+// Хэш-таблица с открытой адресацией (Robin Hood hashing).
+// Ключи, значения и хэши хранятся в параллельных массивах без объектов-обёрток,
+// поэтому на элемент не создаётся отдельный объект и поиск идёт по соседним ячейкам памяти.
+public class RobinHoodHashMap<K, V> implements MyMap<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.8f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Параллельные массивы: keys[i] == null означает пустую ячейку
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+
+    private int mask;
+    private int size;
+    private final float loadFactor;
+    private int threshold;
+
+    public RobinHoodHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public RobinHoodHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public RobinHoodHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Начальная ёмкость должна быть положительной: " + initialCapacity);
+        }
+        // При открытой адресации таблица не может быть заполнена полностью
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Коэффициент загрузки должен быть в интервале (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.min(Math.ceil(initialCapacity / loadFactor), MAXIMUM_CAPACITY)));
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null) return null;
+
+        int hash = spread(key.hashCode());
+        int index = hash & mask;
+        int distance = 0;
+
+        while (true) {
+            Object current = keys[index];
+            if (current == null) {
+                // Свободная ячейка - вставляем
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                if (++size > threshold) {
+                    resize();
+                }
+                return null;
+            }
+            if (hashes[index] == hash && current.equals(key)) {
+                @SuppressWarnings("unchecked")
+                V oldValue = (V) values[index];
+                values[index] = value; // Обновляем значение
+                return oldValue;
+            }
+            int currentDistance = probeDistance(hashes[index], index);
+            if (currentDistance < distance) {
+                // Элемент в ячейке ближе к своей позиции, чем вставляемый:
+                // ключа в таблице точно нет, занимаем ячейку, а вытесненный элемент двигаем дальше
+                insertDisplacing(index, key, value, hash);
+                if (++size > threshold) {
+                    resize();
+                }
+                return null;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) return null;
+
+        int index = findIndex(key);
+        return index >= 0 ? (V) values[index] : null; // null - ключ не найден
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) return null;
+
+        int index = findIndex(key);
+        if (index < 0) {
+            return null; // Ключ не найден
+        }
+        V oldValue = (V) values[index];
+
+        // Обратный сдвиг: следующие элементы цепочки проб сдвигаются на одну ячейку назад,
+        // поэтому после удаления не остаётся "надгробий"
+        int next = (index + 1) & mask;
+        while (keys[next] != null && probeDistance(hashes[next], next) > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        hashes[index] = 0;
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Поиск ячейки с ключом, -1 если ключа нет
+    private int findIndex(Object key) {
+        int hash = spread(key.hashCode());
+        int index = hash & mask;
+        int distance = 0;
+
+        while (true) {
+            Object current = keys[index];
+            // Пустая ячейка или элемент "богаче" искомого - дальше ключа быть не может
+            if (current == null || probeDistance(hashes[index], index) < distance) {
+                return -1;
+            }
+            if (hashes[index] == hash && current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+    }
+
+    // Вставка с вытеснением: вставляемый элемент занимает ячейку,
+    // вытесненный ищет себе место дальше по тем же правилам
+    private void insertDisplacing(int index, Object key, Object value, int hash) {
+        int distance = probeDistance(hash, index);
+        while (true) {
+            Object current = keys[index];
+            if (current == null) {
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                return;
+            }
+            int currentDistance = probeDistance(hashes[index], index);
+            if (currentDistance < distance) {
+                Object displacedKey = keys[index];
+                Object displacedValue = values[index];
+                int displacedHash = hashes[index];
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                key = displacedKey;
+                value = displacedValue;
+                hash = displacedHash;
+                distance = currentDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+    }
+
+    // Расстояние элемента от его исходной ячейки
+    private int probeDistance(int hash, int index) {
+        return (index - (hash & mask)) & mask;
+    }
+
+    private void resize() {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Достигнут максимальный размер таблицы");
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insertDisplacing(oldHashes[i] & mask, oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    // Перемешивание хэша, чтобы младшие биты зависели от всех битов hashCode
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Ближайшая степень двойки, не меньшая capacity
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1);
+        return Math.min(n + 1, MAXIMUM_CAPACITY);
+    }
+
+    // Текущая длина таблицы (для тестов и диагностики)
+    int capacity() {
+        return keys.length;
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.zaur2025.myhashmap;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+// Хэш-таблица с открытой адресацией в духе Swiss table (abseil flat_hash_map).
+// Ячейки разбиты на группы по 8. Для каждой ячейки хранится управляющий байт: пусто, удалено
+// или 7 младших битов хэша (h2). Управляющие байты группы упакованы в одно long, поэтому
+// поиск кандидатов в группе - одно чтение и несколько операций над словом (SWAR) без цикла по ячейкам.
+// Ключ сравнивается через equals только в ячейках, где совпал h2, то есть в среднем
+// примерно в одной ячейке из 128 чужих.
+// Ключи и значения лежат в одном плоском массиве без объектов-обёрток: ключ ячейки i в 2i, значение в 2i + 1,
+// поэтому найденное значение обычно уже в той же строке кэша, что и ключ.
+//
+// Группа выбирается старшими битами хэша (h1), дальше группы перебираются квадратичным
+// пробированием. Поиск останавливается на первой группе, где есть пустая ячейка.
+// Удалённая ячейка помечается "надгробием", если её группа полностью занята (через неё могли
+// пройти пробы других ключей), иначе сразу становится пустой.
+// Таблица перестраивается, когда элементы вместе с надгробиями занимают 7/8 ячеек:
+// удваивается, если живые элементы занимают больше 25/32 ячеек (как в abseil), иначе только
+// очищается от надгробий.
+// Ключ null игнорируется, значения null допускаются. Не потокобезопасна.
+public class SwissHashMap<K, V> implements MyMap<K, V> {
+
+    private static final int GROUP_SIZE = 8;
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    // Массив ячеек вдвое длиннее числа ячеек
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    // Управляющие байты: у пустой и удалённой ячейки старший бит 1, у занятой - 0 и h2 в младших битах
+    private static final int EMPTY = 0x80;
+    private static final int DELETED = 0xFE;
+    private static final long EMPTY_GROUP = 0x8080808080808080L;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    // Управляющие байты: байт j слова g описывает ячейку g * 8 + j
+    private long[] control;
+    private Object[] slots;
+    private int capacity;
+
+    private int groupMask;
+    private int size;
+    private int tombstones;
+    // Предел size + tombstones
+    private int growthLimit;
+
+    public SwissHashMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    public SwissHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Ожидаемый размер не может быть отрицательным: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (key == null) return null;
+
+        int hash = HashMixer.MURMUR3.mix(key.hashCode());
+        int index = findIndex(key, hash);
+        if (index >= 0) {
+            V oldValue = (V) slots[2 * index + 1];
+            slots[2 * index + 1] = value;
+            return oldValue;
+        }
+        if (size + tombstones >= growthLimit) {
+            rehash();
+        }
+        index = findInsertSlot(hash);
+        if (controlByte(index) == DELETED) {
+            tombstones--;
+        }
+        setControl(index, hash & 0x7F);
+        slots[2 * index] = key;
+        slots[2 * index + 1] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) return null;
+
+        int index = findIndex(key, HashMixer.MURMUR3.mix(key.hashCode()));
+        return index >= 0 ? (V) slots[2 * index + 1] : null;
+    }
+
+    public boolean containsKey(Object key) {
+        return key != null && findIndex(key, HashMixer.MURMUR3.mix(key.hashCode())) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) return null;
+
+        int index = findIndex(key, HashMixer.MURMUR3.mix(key.hashCode()));
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) slots[2 * index + 1];
+        // Если в группе уже есть пустая ячейка, ни одна проба не проходила через эту группу дальше
+        if (matchEmpty(control[index / GROUP_SIZE]) != 0) {
+            setControl(index, EMPTY);
+        } else {
+            setControl(index, DELETED);
+            tombstones++;
+        }
+        slots[2 * index] = null;
+        slots[2 * index + 1] = null;
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(control, EMPTY_GROUP);
+        Arrays.fill(slots, null);
+        size = 0;
+        tombstones = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < slots.length; i += 2) {
+            if (slots[i] != null) {
+                action.accept((K) slots[i], (V) slots[i + 1]);
+            }
+        }
+    }
+
+    // Ячейка с ключом или -1
+    private int findIndex(Object key, int hash) {
+        long pattern = (hash & 0x7F) * LOW_BITS;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long word = control[group];
+            long matches = matchZero(word ^ pattern);
+            while (matches != 0) {
+                int index = group * GROUP_SIZE + (Long.numberOfTrailingZeros(matches) >>> 3);
+                Object current = slots[2 * index];
+                if (current == key || (current != null && current.equals(key))) {
+                    return index;
+                }
+                matches &= matches - 1;
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    // Первая пустая или удалённая ячейка на пути пробы; ключа в таблице нет
+    private int findInsertSlot(int hash) {
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long free = matchEmptyOrDeleted(control[group]);
+            if (free != 0) {
+                return group * GROUP_SIZE + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    // Удвоение таблицы или перестройка того же размера, если место занято в основном надгробиями
+    private void rehash() {
+        int newCapacity = capacity;
+        if ((long) size * 32 > (long) capacity * 25) {
+            if (capacity >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Достигнут максимальный размер таблицы");
+            }
+            newCapacity *= 2;
+        }
+        long[] oldControl = control;
+        Object[] oldSlots = slots;
+        allocate(newCapacity);
+        for (int group = 0; group < oldControl.length; group++) {
+            // Занятые ячейки группы - байты со старшим битом 0
+            long full = ~oldControl[group] & HIGH_BITS;
+            while (full != 0) {
+                int oldIndex = group * GROUP_SIZE + (Long.numberOfTrailingZeros(full) >>> 3);
+                Object key = oldSlots[2 * oldIndex];
+                int hash = HashMixer.MURMUR3.mix(key.hashCode());
+                int index = findInsertSlot(hash);
+                setControl(index, hash & 0x7F);
+                slots[2 * index] = key;
+                slots[2 * index + 1] = oldSlots[2 * oldIndex + 1];
+                full &= full - 1;
+            }
+        }
+    }
+
+    private int controlByte(int index) {
+        return (int) (control[index / GROUP_SIZE] >>> ((index % GROUP_SIZE) * 8)) & 0xFF;
+    }
+
+    private void setControl(int index, int value) {
+        int group = index / GROUP_SIZE;
+        int shift = (index % GROUP_SIZE) * 8;
+        control[group] = (control[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    private void allocate(int capacity) {
+        int groups = capacity / GROUP_SIZE;
+        control = new long[groups];
+        Arrays.fill(control, EMPTY_GROUP);
+        slots = new Object[2 * capacity];
+        this.capacity = capacity;
+        groupMask = groups - 1;
+        tombstones = 0;
+        growthLimit = capacity - capacity / 8;
+    }
+
+    // Старший бит каждого нулевого байта. Ложные срабатывания возможны только в байтах выше
+    // настоящего нулевого; они отсеиваются сравнением ключей
+    private static long matchZero(long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    // Точно: у EMPTY (0x80) бит 1 равен 0, у DELETED (0xFE) - 1, у занятых старший бит 0
+    private static long matchEmpty(long word) {
+        return word & (~word << 6) & HIGH_BITS;
+    }
+
+    private static long matchEmptyOrDeleted(long word) {
+        return word & HIGH_BITS;
+    }
+
+    // Число ячеек: степень двойки, не меньше одной группы, expectedSize помещается до порога 7/8
+    private static int tableSizeFor(int expectedSize) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 1) * 8.0 / 7.0) + 1;
+        if (required > MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(GROUP_SIZE, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    // Текущая длина таблицы (для тестов и диагностики)
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,361 @@
+package io.github.zaur2025.myhashmap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+// Хэш-таблица со строковыми ключами (например, email), которая не хранит объекты String.
+// Ключи лежат в общем массиве байтов (slab) в UTF-8: [длина - varint][байты ключа].
+// Таблица - три параллельных массива: хэш ключа, смещение ключа в slab и значение.
+// Открытая адресация с линейным пробированием, удаление обратным сдвигом.
+//
+// При поиске строка кодируется в переиспользуемый буфер и сравнивается с slab побайтово,
+// String из slab не создаётся. Хэш сохраняется в таблице: при пробировании ключи
+// с другим хэшем отбрасываются без сравнения байтов, а при увеличении хэши не пересчитываются.
+// На ключ приходится около 12 байт таблицы (с учётом загрузки) и длина ключа + 1 байт в slab
+// вместо String, массива байтов и узла Entry.
+//
+// Байты удалённых ключей остаются в slab до уплотнения, которое выполняется при увеличении
+// таблицы или когда мусор занимает половину slab. Ключ null игнорируется, значения null допускаются.
+// Не потокобезопасна.
+public class Utf8KeyHashMap<V> implements MyMap<String, V> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int MAX_SLAB_BYTES = Integer.MAX_VALUE - 8;
+
+    // Хэш 0 - пустая ячейка
+    private int[] hashes;
+    private int[] offsets;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    private byte[] slab;
+    private int slabUsed;
+    // Байты удалённых ключей
+    private int slabGarbage;
+
+    // Закодированный ключ текущей операции
+    private byte[] keyBuffer = new byte[64];
+    private int keyLength;
+
+    public Utf8KeyHashMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    public Utf8KeyHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Ожидаемый размер не может быть отрицательным: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+        slab = new byte[Math.max(256, (int) Math.min(MAX_SLAB_BYTES, expectedSize * 24L))];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        if (key == null) return null;
+
+        int hash = encode(key);
+        int index = hash & mask;
+        int current;
+        while ((current = hashes[index]) != 0) {
+            if (current == hash && keyEquals(offsets[index])) {
+                V oldValue = (V) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        // Ключ записывается до занятия ячейки: appendKey может уплотнить slab,
+        // и уплотнение должно видеть только полностью вставленные ключи
+        int offset = appendKey();
+        hashes[index] = hash;
+        offsets[index] = offset;
+        values[index] = value;
+        if (++size > threshold) {
+            resize(hashes.length * 2);
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (!(key instanceof String string)) return null;
+
+        int index = indexOf(encode(string));
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    public boolean containsKey(Object key) {
+        return key instanceof String string && indexOf(encode(string)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (!(key instanceof String string)) return null;
+
+        int index = indexOf(encode(string));
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        slabGarbage += recordLength(offsets[index]);
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Обход всех пар; строки ключей создаются только здесь
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                action.accept(keyAt(offsets[i]), (V) values[i]);
+            }
+        }
+    }
+
+    // Оценка памяти в куче: массивы таблицы (ссылки по 4 байта при сжатых указателях) и slab, без самих значений
+    public long estimatedBytes() {
+        return (long) hashes.length * (Integer.BYTES + Integer.BYTES + Integer.BYTES) + slab.length;
+    }
+
+    // Байты slab, занятые ключами (включая ещё не уплотнённые удалённые)
+    public int slabBytes() {
+        return slabUsed;
+    }
+
+    private int indexOf(int hash) {
+        int index = hash & mask;
+        int current;
+        while ((current = hashes[index]) != 0) {
+            if (current == hash && keyEquals(offsets[index])) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Кодирует строку в UTF-8 в keyBuffer и возвращает хэш байтов (никогда не 0).
+    // Как и String.getBytes, одиночный суррогат заменяется на '?'
+    private int encode(String key) {
+        int length = key.length();
+        if (keyBuffer.length < length * 3) {
+            keyBuffer = new byte[Math.max(length * 3, keyBuffer.length * 2)];
+        }
+        byte[] buffer = keyBuffer;
+        int position = 0;
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low = i + 1 < length ? key.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(low)) {
+                    int codePoint = Character.toCodePoint(c, low);
+                    buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                    i++;
+                } else {
+                    buffer[position++] = '?';
+                }
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        for (int i = 0; i < position; i++) {
+            h = 31 * h + buffer[i];
+        }
+        keyLength = position;
+        int mixed = HashMixer.MURMUR3.mix(h ^ position);
+        return mixed != 0 ? mixed : 1;
+    }
+
+    // Сравнение ключа в slab по смещению offset с keyBuffer
+    private boolean keyEquals(int offset) {
+        byte[] bytes = slab;
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[offset++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return length == keyLength
+                && Arrays.equals(bytes, offset, offset + length, keyBuffer, 0, length);
+    }
+
+    // Запись keyBuffer в конец slab, возвращает смещение записи
+    private int appendKey() {
+        int required = varintLength(keyLength) + keyLength;
+        if (slab.length - slabUsed < required) {
+            growSlab(required);
+        }
+        int offset = slabUsed;
+        int position = offset;
+        int length = keyLength;
+        while (length >= 0x80) {
+            slab[position++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        slab[position++] = (byte) length;
+        System.arraycopy(keyBuffer, 0, slab, position, keyLength);
+        slabUsed = position + keyLength;
+        return offset;
+    }
+
+    private void growSlab(int required) {
+        // Если мусора много, сначала уплотнение в массив того же размера
+        if (slabGarbage >= slabUsed / 2 && slab.length - (slabUsed - slabGarbage) >= required) {
+            compact(slab.length);
+            return;
+        }
+        long live = (long) slabUsed - slabGarbage + required;
+        long newLength = Math.max(live + live / 2, slab.length);
+        if (live > MAX_SLAB_BYTES) {
+            throw new IllegalStateException("Достигнут максимальный размер области ключей");
+        }
+        compact((int) Math.min(newLength, MAX_SLAB_BYTES));
+    }
+
+    // Перенос живых ключей в новый slab длиной newLength
+    private void compact(int newLength) {
+        byte[] newSlab = new byte[newLength];
+        int position = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                int offset = offsets[i];
+                int length = recordLength(offset);
+                System.arraycopy(slab, offset, newSlab, position, length);
+                offsets[i] = position;
+                position += length;
+            }
+        }
+        slab = newSlab;
+        slabUsed = position;
+        slabGarbage = 0;
+    }
+
+    // Длина записи ключа в slab вместе с длиной-varint
+    private int recordLength(int offset) {
+        int length = 0;
+        int shift = 0;
+        int position = offset;
+        byte b;
+        do {
+            b = slab[position++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return position - offset + length;
+    }
+
+    private String keyAt(int offset) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = slab[offset++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return new String(slab, offset, length, StandardCharsets.UTF_8);
+    }
+
+    // Удаление обратным сдвигом: элементы после gap подтягиваются, пока не встретится пустая ячейка
+    private void shiftKeys(int gap) {
+        int index = (gap + 1) & mask;
+        int current;
+        while ((current = hashes[index]) != 0) {
+            int ideal = current & mask;
+            if (((index - ideal) & mask) >= ((index - gap) & mask)) {
+                hashes[gap] = current;
+                offsets[gap] = offsets[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        hashes[gap] = 0;
+        values[gap] = null;
+    }
+
+    // Увеличение таблицы; хэши и смещения переносятся без чтения ключей, затем slab уплотняется
+    private void resize(int newCapacity) {
+        if (hashes.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Достигнут максимальный размер таблицы");
+        }
+        int[] oldHashes = hashes;
+        int[] oldOffsets = offsets;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            int hash = oldHashes[i];
+            if (hash != 0) {
+                int index = hash & mask;
+                while (hashes[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                hashes[index] = hash;
+                offsets[index] = oldOffsets[i];
+                values[index] = oldValues[i];
+            }
+        }
+        if (slabGarbage > 0) {
+            compact(slab.length);
+        }
+    }
+
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        offsets = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = Math.min((int) (capacity * LOAD_FACTOR), capacity - 1);
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while (value >= 0x80) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 2) / (double) LOAD_FACTOR);
+        if (required > MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.zaur2025.myhashmap;
+
+// Вес элемента для MyHashMap с ограничением по весу (например, размер значения в байтах)
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    // Вес не может быть отрицательным
+    int weigh(K key, V value);
+}
@@ -0,0 +1,192 @@
+package io.github.zaur2025.myhashmap.filter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+// Потокобезопасный фильтр Блума: "точно нет" или "возможно есть".
+// Фильтр блочный: все биты элемента лежат в одном блоке из 512 бит (строка кэша),
+// поэтому проверка - одно обращение к памяти, а не k случайных.
+// Блок выбирается старшими битами хэша (умножением, без деления). Позиции в блоке - по 9 бит
+// из 64-битного состояния, которое перемешивается заново каждые PROBES_PER_STATE позиций,
+// так что позиции независимы (при h1 + i * h2 у элемента всего ~2^17 вариантов набора битов,
+// и доля ошибок ниже 1e-3 недостижима).
+// Заполнение блоков неравномерно, и у блочного фильтра доля ошибок выше, чем у обычного
+// того же размера, тем сильнее, чем она меньше. Поэтому размер и число хэш-функций подбираются
+// по точной формуле для блочного фильтра (blockedFalsePositiveRate), а не по m = -n ln p / (ln 2)^2.
+// Вставка - атомарное OR слов блока, без блокировок; проверка читает слова без блокировок.
+// Удаление не поддерживается (см. CuckooFilter).
+public class BloomFilter {
+
+    // Версия 2: другой способ выбора позиций в блоке, файлы версии 1 не читаются
+    private static final long MAGIC = 0x4D59424C4F4F4D32L; // "MYBLOOM2"
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int BLOCK_WORDS = 8;
+    private static final int BLOCK_BITS = BLOCK_WORDS * Long.SIZE;
+    // Позиций из одного 64-битного состояния (по 9 бит)
+    private static final int PROBES_PER_STATE = 7;
+    private static final int MAX_HASH_COUNT = 32;
+    // Шаг увеличения размера при подборе под нужную долю ошибок
+    private static final double SIZE_STEP = 1.02;
+    // Номер блока - 32-битный хэш, умноженный на число блоков, а слов в массиве не больше int
+    private static final long MAX_BITS = (long) (Integer.MAX_VALUE - BLOCK_WORDS) * Long.SIZE;
+
+    private final long[] words;
+    private final int blockCount;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Ожидаемое число элементов должно быть положительным: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Доля ложных срабатываний должна быть в интервале (0, 1): " + falsePositiveRate);
+        }
+        // Начальная оценка - размер обычного фильтра: m = -n ln p / (ln 2)^2;
+        // затем число блоков увеличивается, пока блочный фильтр не даст нужную долю ошибок
+        double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long blocks = Math.max(1, (long) Math.ceil(bits / BLOCK_BITS));
+        int bestHashCount;
+        while (true) {
+            if (blocks * BLOCK_BITS > MAX_BITS) {
+                throw new IllegalArgumentException("Фильтр больше " + MAX_BITS + " бит: уменьшите число элементов или увеличьте долю ошибок");
+            }
+            double load = (double) expectedInsertions / blocks;
+            bestHashCount = 1;
+            double bestRate = blockedFalsePositiveRate(load, 1);
+            for (int k = 2; k <= MAX_HASH_COUNT; k++) {
+                double rate = blockedFalsePositiveRate(load, k);
+                if (rate < bestRate) {
+                    bestRate = rate;
+                    bestHashCount = k;
+                }
+            }
+            if (bestRate <= falsePositiveRate) {
+                break;
+            }
+            blocks = Math.max(blocks + 1, (long) Math.ceil(blocks * SIZE_STEP));
+        }
+        this.hashCount = bestHashCount;
+        this.words = new long[(int) (blocks * BLOCK_WORDS)];
+        this.blockCount = (int) blocks;
+        this.bitCount = (long) words.length * Long.SIZE;
+    }
+
+    private BloomFilter(long[] words, int hashCount) {
+        this.words = words;
+        this.blockCount = words.length / BLOCK_WORDS;
+        this.bitCount = (long) words.length * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    // true, если хотя бы один бит был нулевым (элемента точно не было)
+    public boolean put(CharSequence value) {
+        return putHash(FilterHashing.hash(value));
+    }
+
+    public boolean put(long value) {
+        return putHash(FilterHashing.hash(value));
+    }
+
+    // false - элемента точно нет; true - элемент, возможно, добавлялся
+    public boolean mightContain(CharSequence value) {
+        return containsHash(FilterHashing.hash(value));
+    }
+
+    public boolean mightContain(long value) {
+        return containsHash(FilterHashing.hash(value));
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // Оценка доли ложных срабатываний по текущему заполнению: (доля единичных битов)^k
+    public double expectedFalsePositiveRate() {
+        long ones = 0;
+        for (int i = 0; i < words.length; i++) {
+            ones += Long.bitCount((long) WORDS.getAcquire(words, i));
+        }
+        return Math.pow((double) ones / bitCount, hashCount);
+    }
+
+    public void writeTo(Path file) throws IOException {
+        FilterFiles.write(file, MAGIC, new long[]{words.length, hashCount}, words, WORDS);
+    }
+
+    public static BloomFilter readFrom(Path file) throws IOException {
+        long[] header = new long[2];
+        try (FileChannel channel = FilterFiles.open(file, MAGIC, header)) {
+            if (header[0] <= 0 || header[0] > MAX_BITS / Long.SIZE || header[0] % BLOCK_WORDS != 0
+                    || header[1] <= 0 || header[1] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Файл фильтра повреждён: " + file);
+            }
+            long[] words = new long[(int) header[0]];
+            FilterFiles.readWords(channel, words);
+            return new BloomFilter(words, (int) header[1]);
+        }
+    }
+
+    private boolean putHash(long hash) {
+        int block = block(hash);
+        long state = 0;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            if (i % PROBES_PER_STATE == 0) {
+                state = FilterHashing.mix(hash + i);
+            }
+            int bit = (int) state & (BLOCK_BITS - 1);
+            state >>>= 9;
+            int word = block + (bit >>> 6);
+            long mask = 1L << bit;
+            if (((long) WORDS.getAcquire(words, word) & mask) == 0) {
+                WORDS.getAndBitwiseOr(words, word, mask);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean containsHash(long hash) {
+        int block = block(hash);
+        long state = 0;
+        for (int i = 0; i < hashCount; i++) {
+            if (i % PROBES_PER_STATE == 0) {
+                state = FilterHashing.mix(hash + i);
+            }
+            int bit = (int) state & (BLOCK_BITS - 1);
+            state >>>= 9;
+            if (((long) WORDS.getAcquire(words, block + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Доля ложных срабатываний блочного фильтра с load элементами на блок в среднем и k позициями:
+    // число элементов в блоке распределено по Пуассону, для блока с j элементами доля ошибок
+    // (1 - (1 - 1/B)^(k j))^k
+    static double blockedFalsePositiveRate(double load, int k) {
+        double emptyPerElement = Math.pow(1 - 1.0 / BLOCK_BITS, k);
+        int maxElements = (int) Math.ceil(load + 12 * Math.sqrt(load) + 12);
+        double probability = Math.exp(-load); // P(j = 0)
+        double rate = 0;
+        for (int j = 1; j <= maxElements; j++) {
+            probability *= load / j;
+            rate += probability * Math.pow(1 - Math.pow(emptyPerElement, j), k);
+        }
+        return rate;
+    }
+
+    // Первое слово блока элемента: старшие 32 бита хэша, равномерно отображённые в [0, blockCount)
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blockCount) >>> 32) * BLOCK_WORDS;
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.zaur2025.myhashmap.filter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Потокобезопасный фильтр с кукушкиным хэшированием: как фильтр Блума, но с удалением.
+// Элемент представлен 16-битным отпечатком, который лежит в одной из двух корзин:
+// i1 из хэша и i2 = i1 ^ hash(отпечаток), поэтому вторую корзину можно найти по первой и отпечатку.
+// Корзина - 4 отпечатка, упакованные в одно long, так что проверка корзины - одно чтение
+// и сравнение всех четырёх отпечатков сразу (SWAR).
+//
+// Проверка не берёт блокировок. Вставка и удаление выполняются под блокировкой фильтра.
+// Если обе корзины заняты, вставка ищет цепочку вытеснений до свободного места и выполняет её
+// с конца: каждый отпечаток сначала записывается в новую корзину и только потом затирается в старой.
+// Проверка читает две корзины по отдельности, и между чтениями отпечаток может переехать
+// из ещё не прочитанной корзины в уже прочитанную. Поэтому перенос окружён счётчиком версий
+// (seqlock): на время переноса версия нечётная, и проверка, не нашедшая отпечаток,
+// повторяется, если версия была нечётной или изменилась.
+//
+// Доля ложных срабатываний - около 8 / 2^16 (две корзины по 4 отпечатка), поэтому меньшую
+// долю этот фильтр не обеспечивает. Удалять можно только элементы, которые добавлялись,
+// иначе можно удалить чужой отпечаток.
+public class CuckooFilter {
+
+    private static final long MAGIC = 0x4D594355434B4F31L; // "MYCUCKO1"
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int SLOTS = 4;
+    private static final int FINGERPRINT_BITS = 16;
+    private static final long FINGERPRINT_MASK = (1L << FINGERPRINT_BITS) - 1;
+    // Единица в младшем и старшем бите каждого отпечатка - для поиска в корзине без цикла
+    private static final long LOW_BITS = 0x0001000100010001L;
+    private static final long HIGH_BITS = 0x8000800080008000L;
+    // Доля ложных срабатываний, которую дают 16-битные отпечатки
+    private static final double MIN_FALSE_POSITIVE_RATE = 2.0 * SLOTS / (1 << FINGERPRINT_BITS);
+    // Допустимая загрузка корзин при расчёте размера
+    private static final double LOAD_FACTOR = 0.95;
+    private static final int MAX_KICKS = 500;
+    private static final int MAX_PATH_ATTEMPTS = 4;
+    private static final int MAX_BUCKETS = 1 << 30;
+
+    private final long[] buckets;
+    private final int mask;
+    private volatile long size;
+    // Версия для проверок без блокировки: нечётная, пока выполняется цепочка вытеснений
+    private volatile int relocationVersion;
+
+    // Буферы цепочки вытеснений (используются под блокировкой)
+    private final int[] pathBuckets = new int[MAX_KICKS];
+    private final int[] pathSlots = new int[MAX_KICKS];
+
+    public CuckooFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Ожидаемое число элементов должно быть положительным: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate >= MIN_FALSE_POSITIVE_RATE && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Доля ложных срабатываний должна быть в интервале ["
+                    + MIN_FALSE_POSITIVE_RATE + ", 1): " + falsePositiveRate + "; для меньшей используйте BloomFilter");
+        }
+        long required = (long) Math.ceil(expectedInsertions / (SLOTS * LOAD_FACTOR));
+        if (required > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Слишком много элементов для одного фильтра: " + expectedInsertions);
+        }
+        int bucketCount = Math.max(2, Integer.highestOneBit((int) required - 1) << 1);
+        this.buckets = new long[bucketCount];
+        this.mask = bucketCount - 1;
+    }
+
+    private CuckooFilter(long[] buckets, long size) {
+        this.buckets = buckets;
+        this.mask = buckets.length - 1;
+        this.size = size;
+    }
+
+    // false - фильтр заполнен и элемент не добавлен
+    public boolean put(CharSequence value) {
+        return putHash(FilterHashing.hash(value));
+    }
+
+    public boolean put(long value) {
+        return putHash(FilterHashing.hash(value));
+    }
+
+    public boolean mightContain(CharSequence value) {
+        return containsHash(FilterHashing.hash(value));
+    }
+
+    public boolean mightContain(long value) {
+        return containsHash(FilterHashing.hash(value));
+    }
+
+    // Удаление одного отпечатка элемента; false - отпечатка нет
+    public boolean remove(CharSequence value) {
+        return removeHash(FilterHashing.hash(value));
+    }
+
+    public boolean remove(long value) {
+        return removeHash(FilterHashing.hash(value));
+    }
+
+    // Количество отпечатков в фильтре
+    public long size() {
+        return size;
+    }
+
+    public long capacity() {
+        return (long) buckets.length * SLOTS;
+    }
+
+    public synchronized void writeTo(Path file) throws IOException {
+        FilterFiles.write(file, MAGIC, new long[]{buckets.length, size}, buckets, BUCKETS);
+    }
+
+    public static CuckooFilter readFrom(Path file) throws IOException {
+        long[] header = new long[2];
+        try (FileChannel channel = FilterFiles.open(file, MAGIC, header)) {
+            if (header[0] < 2 || header[0] > MAX_BUCKETS || Long.bitCount(header[0]) != 1
+                    || header[1] < 0 || header[1] > header[0] * SLOTS) {
+                throw new IllegalArgumentException("Файл фильтра повреждён: " + file);
+            }
+            long[] buckets = new long[(int) header[0]];
+            FilterFiles.readWords(channel, buckets);
+            return new CuckooFilter(buckets, header[1]);
+        }
+    }
+
+    private boolean containsHash(long hash) {
+        long fingerprint = fingerprint(hash);
+        int first = firstBucket(hash);
+        int second = alternate(first, fingerprint);
+        while (true) {
+            int version = relocationVersion;
+            if ((version & 1) == 0) {
+                if (hasFingerprint(bucket(first), fingerprint) || hasFingerprint(bucket(second), fingerprint)) {
+                    return true;
+                }
+                // Чтения корзин не должны переместиться после повторного чтения версии
+                VarHandle.acquireFence();
+                if (relocationVersion == version) {
+                    return false;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private synchronized boolean putHash(long hash) {
+        long fingerprint = fingerprint(hash);
+        int first = firstBucket(hash);
+        int second = alternate(first, fingerprint);
+        if (insertIntoEmptySlot(first, fingerprint) || insertIntoEmptySlot(second, fingerprint)) {
+            size++;
+            return true;
+        }
+        for (int attempt = 0; attempt < MAX_PATH_ATTEMPTS; attempt++) {
+            if (relocate(ThreadLocalRandom.current().nextBoolean() ? first : second, fingerprint)) {
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized boolean removeHash(long hash) {
+        long fingerprint = fingerprint(hash);
+        int first = firstBucket(hash);
+        if (removeFromBucket(first, fingerprint) || removeFromBucket(alternate(first, fingerprint), fingerprint)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    // Поиск цепочки вытеснений от корзины start до корзины со свободным местом и её выполнение.
+    // Цепочка, которая возвращается в уже пройденную корзину, отбрасывается
+    private boolean relocate(int start, long fingerprint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int current = start;
+        for (int length = 0; length < MAX_KICKS; length++) {
+            for (int i = 0; i < length; i++) {
+                if (pathBuckets[i] == current) {
+                    return false;
+                }
+            }
+            int slot = random.nextInt(SLOTS);
+            pathBuckets[length] = current;
+            pathSlots[length] = slot;
+            long victim = slotValue(bucket(current), slot);
+            int next = alternate(current, victim);
+            if (insertIntoEmptySlot(next, victim)) {
+                // Последний отпечаток уже скопирован в свободную ячейку; остальные сдвигаются с конца.
+                // Изменения версии - под блокировкой фильтра, поэтому инкремент без CAS
+                relocationVersion++;
+                for (int k = length; k > 0; k--) {
+                    long moved = slotValue(bucket(pathBuckets[k - 1]), pathSlots[k - 1]);
+                    setSlot(pathBuckets[k], pathSlots[k], moved);
+                }
+                setSlot(pathBuckets[0], pathSlots[0], fingerprint);
+                relocationVersion++;
+                return true;
+            }
+            current = next;
+        }
+        return false;
+    }
+
+    private boolean insertIntoEmptySlot(int index, long fingerprint) {
+        long word = bucket(index);
+        long empty = zeroLanes(word);
+        if (empty == 0) {
+            return false;
+        }
+        int shift = Long.numberOfTrailingZeros(empty) - (FINGERPRINT_BITS - 1);
+        BUCKETS.setRelease(buckets, index, word | (fingerprint << shift));
+        return true;
+    }
+
+    private boolean removeFromBucket(int index, long fingerprint) {
+        long word = bucket(index);
+        long matches = zeroLanes(word ^ (fingerprint * LOW_BITS));
+        if (matches == 0) {
+            return false;
+        }
+        int shift = Long.numberOfTrailingZeros(matches) - (FINGERPRINT_BITS - 1);
+        BUCKETS.setRelease(buckets, index, word & ~(FINGERPRINT_MASK << shift));
+        return true;
+    }
+
+    private void setSlot(int index, int slot, long fingerprint) {
+        int shift = slot * FINGERPRINT_BITS;
+        long word = bucket(index);
+        BUCKETS.setRelease(buckets, index, (word & ~(FINGERPRINT_MASK << shift)) | (fingerprint << shift));
+    }
+
+    private long bucket(int index) {
+        return (long) BUCKETS.getAcquire(buckets, index);
+    }
+
+    private int firstBucket(long hash) {
+        return (int) (hash >>> 32) & mask;
+    }
+
+    // Вторая корзина отпечатка: операция обратима, alternate(alternate(i, f), f) == i
+    private int alternate(int index, long fingerprint) {
+        return (index ^ (int) FilterHashing.mix(fingerprint)) & mask;
+    }
+
+    // Отпечаток не бывает 0: 0 - пустая ячейка
+    private static long fingerprint(long hash) {
+        long fingerprint = hash & FINGERPRINT_MASK;
+        return fingerprint != 0 ? fingerprint : 1;
+    }
+
+    private static long slotValue(long word, int slot) {
+        return (word >>> (slot * FINGERPRINT_BITS)) & FINGERPRINT_MASK;
+    }
+
+    private static boolean hasFingerprint(long word, long fingerprint) {
+        return zeroLanes(word ^ (fingerprint * LOW_BITS)) != 0;
+    }
+
+    // Старший бит каждого нулевого 16-битного поля слова. Ложные срабатывания возможны только
+    // в полях выше настоящего нулевого, поэтому младший установленный бит всегда точный
+    private static long zeroLanes(long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.zaur2025.myhashmap.filter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Файл фильтра: [MAGIC: 8][версия: 4][заголовок: long * headerLongs][слова: long * words.length].
+// Слова читаются через VarHandle, поэтому файл можно писать во время вставок
+// (вставки, выполненные одновременно с записью, могут в файл не попасть).
+final class FilterFiles {
+
+    private static final int VERSION = 1;
+    private static final int BUFFER_LONGS = 1 << 17;
+
+    private FilterFiles() {
+    }
+
+    static void write(Path file, long magic, long[] header, long[] words, VarHandle wordHandle) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_LONGS * Long.BYTES);
+            buffer.putLong(magic).putInt(VERSION);
+            for (long value : header) {
+                buffer.putLong(value);
+            }
+            for (int i = 0; i < words.length; i++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    drain(buffer, channel);
+                }
+                buffer.putLong((long) wordHandle.getAcquire(words, i));
+            }
+            drain(buffer, channel);
+        }
+    }
+
+    // Чтение заголовка; слова читаются отдельно в массив нужной длины методом readWords
+    static FileChannel open(Path file, long magic, long[] header) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + header.length * Long.BYTES);
+            readFully(channel, buffer);
+            if (buffer.getLong() != magic || buffer.getInt() != VERSION) {
+                throw new IllegalArgumentException("Файл не является фильтром нужного типа: " + file);
+            }
+            for (int i = 0; i < header.length; i++) {
+                header[i] = buffer.getLong();
+            }
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static void readWords(FileChannel channel, long[] words) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_LONGS * Long.BYTES);
+        int index = 0;
+        while (index < words.length) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (long) (words.length - index) * Long.BYTES));
+            readFully(channel, buffer);
+            while (buffer.hasRemaining()) {
+                words[index++] = buffer.getLong();
+            }
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Файл фильтра обрезан");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
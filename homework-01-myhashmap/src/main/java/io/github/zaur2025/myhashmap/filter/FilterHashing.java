@@ -0,0 +1,28 @@
+package io.github.zaur2025.myhashmap.filter;
+
+// 64-битные хэши для фильтров: 32 бит hashCode мало для сотен миллионов элементов
+final class FilterHashing {
+
+    private FilterHashing() {
+    }
+
+    // FNV-1a по символам строки и финальное перемешивание
+    static long hash(CharSequence value) {
+        long h = 0xCBF29CE484222325L ^ value.length();
+        for (int i = 0, length = value.length(); i < length; i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    static long hash(long value) {
+        return mix(value + 0x9E3779B97F4A7C15L);
+    }
+
+    // Финализатор splitmix64: каждый бит результата зависит от всех битов входа
+    static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
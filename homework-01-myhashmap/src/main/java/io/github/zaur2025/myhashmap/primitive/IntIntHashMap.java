@@ -0,0 +1,178 @@
+package io.github.zaur2025.myhashmap.primitive;
+
+import static io.github.zaur2025.myhashmap.primitive.PrimitiveHashing.*;
+
+// Хэш-таблица int -> int без упаковки ключей и значений.
+// Открытая адресация с линейным пробированием, удаление обратным сдвигом.
+// Ключ 0 используется как признак пустой ячейки, поэтому хранится отдельно.
+public class IntIntHashMap {
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private final float loadFactor;
+    private int threshold;
+
+    // Значение, которое возвращается, если ключа нет
+    private final int noEntryValue;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    public IntIntHashMap(int expectedSize, float loadFactor, int noEntryValue) {
+        this.loadFactor = loadFactor;
+        this.noEntryValue = noEntryValue;
+        allocate(tableSizeFor(expectedSize, loadFactor));
+    }
+
+    // Добавляет или обновляет значение, возвращает предыдущее значение или noEntryValue
+    public int put(int key, int value) {
+        if (key == 0) {
+            int oldValue = hasZeroKey ? zeroValue : noEntryValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+
+        int index = mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                int oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            resize();
+        }
+        return noEntryValue;
+    }
+
+    // Возвращает значение по ключу или noEntryValue, если ключа нет
+    public int get(int key) {
+        return getOrDefault(key, noEntryValue);
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int index = mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    // Удаляет пару по ключу, возвращает удалённое значение или noEntryValue
+    public int remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return noEntryValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return noEntryValue;
+        }
+        int oldValue = values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    private int indexOf(int key) {
+        int index = mix(key) & mask;
+        int current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Удаление обратным сдвигом: элементы после gap подтягиваются,
+    // пока не встретится пустая ячейка
+    private void shiftKeys(int gap) {
+        int index = (gap + 1) & mask;
+        int current;
+        while ((current = keys[index]) != 0) {
+            if (shouldShift(gap, index, mix(current) & mask, mask)) {
+                keys[gap] = current;
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+    }
+
+    private void resize() {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Достигнут максимальный размер таблицы");
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int index = mix(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = threshold(capacity, loadFactor);
+    }
+}
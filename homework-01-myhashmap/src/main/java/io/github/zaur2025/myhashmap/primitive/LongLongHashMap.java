@@ -0,0 +1,178 @@
+package io.github.zaur2025.myhashmap.primitive;
+
+import static io.github.zaur2025.myhashmap.primitive.PrimitiveHashing.*;
+
+// Хэш-таблица long -> long без упаковки ключей и значений.
+// Открытая адресация с линейным пробированием, удаление обратным сдвигом.
+// Ключ 0 используется как признак пустой ячейки, поэтому хранится отдельно.
+public class LongLongHashMap {
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private final float loadFactor;
+    private int threshold;
+
+    // Значение, которое возвращается, если ключа нет
+    private final long noEntryValue;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, 0L);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, 0L);
+    }
+
+    public LongLongHashMap(int expectedSize, float loadFactor, long noEntryValue) {
+        this.loadFactor = loadFactor;
+        this.noEntryValue = noEntryValue;
+        allocate(tableSizeFor(expectedSize, loadFactor));
+    }
+
+    // Добавляет или обновляет значение, возвращает предыдущее значение или noEntryValue
+    public long put(long key, long value) {
+        if (key == 0) {
+            long oldValue = hasZeroKey ? zeroValue : noEntryValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+
+        int index = mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                long oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            resize();
+        }
+        return noEntryValue;
+    }
+
+    // Возвращает значение по ключу или noEntryValue, если ключа нет
+    public long get(long key) {
+        return getOrDefault(key, noEntryValue);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int index = mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    // Удаляет пару по ключу, возвращает удалённое значение или noEntryValue
+    public long remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return noEntryValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return noEntryValue;
+        }
+        long oldValue = values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Удаление обратным сдвигом: элементы после gap подтягиваются,
+    // пока не встретится пустая ячейка
+    private void shiftKeys(int gap) {
+        int index = (gap + 1) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (shouldShift(gap, index, mix(current) & mask, mask)) {
+                keys[gap] = current;
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+    }
+
+    private void resize() {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Достигнут максимальный размер таблицы");
+        }
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int index = mix(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = threshold(capacity, loadFactor);
+    }
+}
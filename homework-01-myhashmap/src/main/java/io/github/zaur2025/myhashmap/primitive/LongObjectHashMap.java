@@ -0,0 +1,170 @@
+package io.github.zaur2025.myhashmap.primitive;
+
+import static io.github.zaur2025.myhashmap.primitive.PrimitiveHashing.*;
+
+// Хэш-таблица long -> V без упаковки ключей (например, ID пользователя -> объект).
+// Открытая адресация с линейным пробированием, удаление обратным сдвигом.
+// Ключ 0 используется как признак пустой ячейки, поэтому хранится отдельно.
+public class LongObjectHashMap<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private final float loadFactor;
+    private int threshold;
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongObjectHashMap(int expectedSize, float loadFactor) {
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(expectedSize, loadFactor));
+    }
+
+    // Добавляет или обновляет значение, возвращает предыдущее значение или null
+    public V put(long key, V value) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+
+        int index = mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                @SuppressWarnings("unchecked")
+                V oldValue = (V) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    // Возвращает значение по ключу или null, если ключа нет
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        int index = mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                return (V) values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    // Удаляет пару по ключу, возвращает удалённое значение или null
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                size--;
+            }
+            return oldValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Удаление обратным сдвигом: элементы после gap подтягиваются,
+    // пока не встретится пустая ячейка
+    private void shiftKeys(int gap) {
+        int index = (gap + 1) & mask;
+        long current;
+        while ((current = keys[index]) != 0) {
+            if (shouldShift(gap, index, mix(current) & mask, mask)) {
+                keys[gap] = current;
+                values[gap] = values[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private void resize() {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Достигнут максимальный размер таблицы");
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int index = mix(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = threshold(capacity, loadFactor);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.zaur2025.myhashmap.primitive;
+
+// Общие вспомогательные методы для хэш-таблиц с примитивными ключами
+final class PrimitiveHashing {
+
+    static final int DEFAULT_CAPACITY = 16;
+    static final float DEFAULT_LOAD_FACTOR = 0.6f;
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private PrimitiveHashing() {
+    }
+
+    // Перемешивание ключа: последовательные ID не должны попадать в соседние ячейки
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Длина таблицы (степень двойки) для указанного числа элементов
+    static int tableSizeFor(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Ожидаемый размер не может быть отрицательным: " + expectedSize);
+        }
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Коэффициент загрузки должен быть в интервале (0, 1): " + loadFactor);
+        }
+        long required = (long) Math.ceil(Math.max(expectedSize, 2) / (double) loadFactor);
+        if (required > MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    static int threshold(int capacity, float loadFactor) {
+        return Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    // Нужно ли сдвигать элемент из ячейки index в освободившуюся ячейку gap
+    // при удалении обратным сдвигом (ideal - исходная ячейка элемента)
+    static boolean shouldShift(int gap, int index, int ideal, int mask) {
+        return ((index - ideal) & mask) >= ((index - gap) & mask);
+    }
+}
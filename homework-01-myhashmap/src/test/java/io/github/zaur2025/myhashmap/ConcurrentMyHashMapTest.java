@@ -0,0 +1,134 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentMyHashMapTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void operations_ShouldMatchHashMap_InSingleThread() {
+        // Arrange
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+
+        // Act + Assert
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(5_000);
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.putIfAbsent(key, i), map.putIfAbsent(key, i));
+                case 2 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+    }
+
+    @Test
+    void concurrentPuts_ShouldKeepAllEntries_WhileTableGrows() throws Exception {
+        // Arrange
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>(2);
+        int perThread = 50_000;
+
+        // Act - у каждого потока свой диапазон ключей
+        runConcurrently(thread -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = thread * perThread + i;
+                map.put(key, -key);
+            }
+        });
+
+        // Assert
+        assertEquals(THREADS * perThread, map.size());
+        assertTrue(map.capacity() >= THREADS * perThread);
+        for (int key = 0; key < THREADS * perThread; key++) {
+            assertEquals(-key, map.get(key));
+        }
+    }
+
+    @Test
+    void readers_ShouldAlwaysSeeExistingKeys_DuringConcurrentResize() throws Exception {
+        // Arrange - ключи 0..9999 есть с самого начала и не удаляются
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>(16);
+        for (int key = 0; key < 10_000; key++) {
+            map.put(key, key);
+        }
+        AtomicBoolean missed = new AtomicBoolean();
+
+        // Act - половина потоков читает, половина вставляет и удаляет другие ключи
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < 200_000; i++) {
+                if (thread % 2 == 0) {
+                    int key = random.nextInt(10_000);
+                    if (!Integer.valueOf(key).equals(map.get(key))) {
+                        missed.set(true);
+                    }
+                } else {
+                    int key = 10_000 + random.nextInt(500_000);
+                    if (random.nextInt(4) == 0) {
+                        map.remove(key);
+                    } else {
+                        map.put(key, key);
+                    }
+                }
+            }
+        });
+
+        // Assert
+        assertFalse(missed.get());
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals(key, map.get(key));
+        }
+    }
+
+    @Test
+    void put_ShouldThrow_WhenValueIsNull() {
+        ConcurrentMyHashMap<String, String> map = new ConcurrentMyHashMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put("key", null));
+        assertNull(map.put(null, "value"));
+        assertTrue(map.isEmpty());
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(id);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrozenMapTest {
+
+    @Test
+    void freeze_ShouldKeepAllEntries_AndRejectAbsentKeys() {
+        // Arrange
+        MyHashMap<Long, String> source = new MyHashMap<>();
+        Random random = new Random(13);
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextLong();
+            source.put(id, "user" + id);
+        }
+
+        // Act
+        FrozenMap<Long, String> frozen = source.freeze();
+
+        // Assert
+        assertEquals(source.size(), frozen.size());
+        source.forEach((key, value) -> assertEquals(value, frozen.get(key)));
+        for (int i = 0; i < 10_000; i++) {
+            long absent = random.nextLong();
+            assertEquals(source.get(absent), frozen.get(absent));
+        }
+        assertEquals(source, frozen);
+        assertEquals(frozen, source);
+    }
+
+    @Test
+    void freeze_ShouldGroupKeys_WithSameHashCode() {
+        // Arrange - 64 строки с одинаковым hashCode и несколько обычных ключей
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> keys = new ArrayList<>(List.of(""));
+        for (int block = 0; block < 6; block++) {
+            List<String> next = new ArrayList<>();
+            for (String prefix : keys) {
+                next.add(prefix + "Aa");
+                next.add(prefix + "BB");
+            }
+            keys = next;
+        }
+        keys.add("alice@mail.ru");
+        keys.add("bob@mail.ru");
+        MyHashMap<String, Integer> source = new MyHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            source.put(keys.get(i), i);
+            expected.put(keys.get(i), i);
+        }
+
+        // Act
+        FrozenMap<String, Integer> frozen = source.freeze();
+
+        // Assert
+        assertEquals(expected, frozen);
+        assertEquals(64, frozen.get("alice@mail.ru"));
+        assertTrue(frozen.containsKey("AaAaAaAaAaAa"));
+        assertNull(frozen.get("AaAaAaAaAaAB"));
+        assertFalse(frozen.containsKey(null));
+    }
+
+    @Test
+    void frozenMap_ShouldRejectModifications_AndHandleEmptySource() {
+        FrozenMap<String, String> empty = new MyHashMap<String, String>().freeze();
+        FrozenMap<String, String> frozen = new MyHashMap<String, String>() {{
+            put("key", "value");
+        }}.freeze();
+
+        assertTrue(empty.isEmpty());
+        assertNull(empty.get("key"));
+        assertEquals("value", frozen.get("key"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put("other", "value"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("key"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.entrySet().iterator().next().setValue("x"));
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HamtMapTest {
+
+    @Test
+    void putGetRemove_ShouldMatchHashMap_WithCollidingKeys() {
+        // Arrange - случайные ключи и строки с одинаковым hashCode
+        HamtMap<Object, Integer> map = new HamtMap<>();
+        Map<Object, Integer> expected = new HashMap<>();
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            keys.add("key" + i);
+        }
+        keys.addAll(List.of("Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB"));
+        Random random = new Random(14);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            Object key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map.snapshot());
+        for (Object key : keys) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        assertNull(map.put(null, 1));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    void snapshot_ShouldNotSeeLaterWrites() {
+        // Arrange
+        HamtMap<Integer, String> map = new HamtMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, "v" + i);
+        }
+
+        // Act
+        HamtMap.Snapshot<Integer, String> snapshot = map.snapshot();
+        map.put(0, "changed");
+        map.put(5_000, "new");
+        map.remove(1);
+
+        // Assert
+        assertEquals(1_000, snapshot.size());
+        assertEquals("v0", snapshot.get(0));
+        assertEquals("v1", snapshot.get(1));
+        assertFalse(snapshot.containsKey(5_000));
+        assertEquals(1_000, map.size());
+        assertEquals("changed", map.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put(2, "x"));
+    }
+
+    @Test
+    void batch_ShouldPublishAllChangesAtOnce_OrNothingOnFailure() {
+        // Arrange
+        HamtMap<Integer, Integer> map = new HamtMap<>();
+        map.put(-1, -1);
+        HamtMap.Snapshot<Integer, Integer> before = map.snapshot();
+        AtomicReference<MyMap<Integer, Integer>> leaked = new AtomicReference<>();
+
+        // Act
+        map.batch(batch -> {
+            for (int i = 0; i < 10_000; i++) {
+                batch.put(i, i);
+            }
+            batch.remove(-1);
+            assertEquals(10_000, batch.size());
+            assertEquals(-1, map.get(-1));
+            leaked.set(batch);
+        });
+        assertThrows(IllegalStateException.class, () -> map.batch(batch -> {
+            batch.put(100_000, 0);
+            throw new IllegalStateException("отмена");
+        }));
+
+        // Assert
+        assertEquals(Map.of(-1, -1), before);
+        assertEquals(10_000, map.size());
+        assertNull(map.get(-1));
+        assertEquals(42, map.get(42));
+        assertFalse(map.containsKey(100_000));
+        assertThrows(IllegalStateException.class, () -> leaked.get().put(1, 1));
+    }
+
+    @Test
+    void snapshot_ShouldBeIterableWhileWriterContinues() throws InterruptedException {
+        // Arrange
+        HamtMap<Integer, Integer> map = new HamtMap<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; !stop.get(); i++) {
+                map.put(i % 20_000, i);
+                if (i % 3 == 0) {
+                    map.remove((i * 7) % 20_000);
+                }
+            }
+        });
+
+        // Act
+        writer.start();
+        try {
+            for (int round = 0; round < 200; round++) {
+                HamtMap.Snapshot<Integer, Integer> snapshot = map.snapshot();
+                int[] count = new int[1];
+                snapshot.forEach((key, value) -> count[0]++);
+
+                // Assert - обход снимка согласован с его размером
+                assertEquals(snapshot.size(), count[0]);
+                assertEquals(snapshot.size(), snapshot.entrySet().stream().count());
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+    }
+}
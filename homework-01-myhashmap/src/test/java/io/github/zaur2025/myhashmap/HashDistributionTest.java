@@ -0,0 +1,92 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Качество распределения ключей по ячейкам: максимальная и средняя длина цепочки
+// (средняя - по непустым ячейкам) для разных наборов ключей и функций перемешивания
+public class HashDistributionTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void murmur3_ShouldKeepChainsShort_ForTypicalKeySets() {
+        System.out.println("Распределение ключей (" + KEYS + " шт.), MURMUR3:");
+
+        ChainStats sequential = measure(HashMixer.MURMUR3, i -> (long) i);
+        ChainStats random = measure(HashMixer.MURMUR3, randomLongs());
+        ChainStats strings = measure(HashMixer.MURMUR3, i -> "user" + i + "@mail.ru");
+
+        report("последовательные Long", sequential);
+        report("случайные Long", random);
+        report("строки (email)", strings);
+
+        assertTrue(sequential.max <= 8, "последовательные Long: " + sequential);
+        assertTrue(random.max <= 8, "случайные Long: " + random);
+        assertTrue(strings.max <= 8, "строки: " + strings);
+        assertTrue(sequential.mean < 1.6 && random.mean < 1.6 && strings.mean < 1.6);
+    }
+
+    @Test
+    void murmur3_ShouldFixClustering_WhenLowBitsAreConstant() {
+        // Arrange - ID с шагом 2^16: у hashCode одинаковые младшие 16 бит
+        IntFunction<Object> steppedIds = i -> (long) i << 16;
+
+        // Act
+        ChainStats identity = measure(HashMixer.IDENTITY, steppedIds);
+        ChainStats murmur = measure(HashMixer.MURMUR3, steppedIds);
+
+        report("ID с шагом 2^16, IDENTITY", identity);
+        report("ID с шагом 2^16, MURMUR3", murmur);
+
+        // Assert - без перемешивания все ключи попадают в считанные ячейки
+        assertTrue(identity.max > 1000, identity.toString());
+        assertTrue(murmur.max <= 8, murmur.toString());
+    }
+
+    private static IntFunction<Object> randomLongs() {
+        long[] values = new Random(5).longs(KEYS).toArray();
+        return i -> values[i];
+    }
+
+    private static ChainStats measure(HashMixer mixer, IntFunction<Object> keys) {
+        MyHashMap<Object, Integer> map = new MyHashMap<>(16, 0.75f, mixer);
+        for (int i = 0; i < KEYS; i++) {
+            map.put(keys.apply(i), i);
+        }
+        assertEquals(KEYS, map.size());
+
+        int max = 0;
+        int nonEmpty = 0;
+        for (int size : map.bucketSizes()) {
+            max = Math.max(max, size);
+            if (size > 0) {
+                nonEmpty++;
+            }
+        }
+        return new ChainStats(max, (double) KEYS / nonEmpty);
+    }
+
+    private static void report(String name, ChainStats stats) {
+        System.out.printf("   %-28s max = %5d, mean = %.3f%n", name, stats.max, stats.mean);
+    }
+
+    private static class ChainStats {
+        final int max;
+        final double mean;
+
+        ChainStats(int max, double mean) {
+            this.max = max;
+            this.mean = mean;
+        }
+
+        @Override
+        public String toString() {
+            return "max=" + max + ", mean=" + mean;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongMultimapTest {
+
+    @Test
+    void addAndRemoveValue_ShouldMatchMapOfLists() {
+        // Arrange - индекс домен email -> ID пользователей
+        LongMultimap<String> index = new LongMultimap<>();
+        Map<String, List<Long>> expected = new HashMap<>();
+        Random random = new Random(18);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            String domain = "domain" + random.nextInt(100) + ".ru";
+            long id = random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                List<Long> ids = expected.get(domain);
+                boolean removed = ids != null && ids.remove(id);
+                if (ids != null && ids.isEmpty()) {
+                    expected.remove(domain);
+                }
+                assertEquals(removed, index.removeValue(domain, id));
+            } else {
+                expected.computeIfAbsent(domain, d -> new ArrayList<>()).add(id);
+                index.add(domain, id);
+            }
+        }
+
+        // Assert - порядок значений после удаления не сохраняется, сравниваем отсортированными
+        assertEquals(expected.size(), index.keyCount());
+        assertEquals(expected.values().stream().mapToLong(List::size).sum(), index.size());
+        for (Map.Entry<String, List<Long>> entry : expected.entrySet()) {
+            long[] actual = index.getAll(entry.getKey());
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            Arrays.sort(actual);
+            assertArrayEquals(sorted, actual);
+            assertEquals(sorted.length, index.valueCount(entry.getKey()));
+        }
+    }
+
+    @Test
+    void forEach_ShouldVisitValuesWithoutBoxing() {
+        // Arrange
+        LongMultimap<Integer> byAge = new LongMultimap<>(16);
+        for (long id = 1; id <= 10; id++) {
+            byAge.add((int) (20 + id % 2), id);
+        }
+        long[] sum = new long[2];
+
+        // Act
+        byAge.forEach(21, id -> sum[0] += id);
+        byAge.forEach((age, id) -> sum[1] += id);
+
+        // Assert
+        assertEquals(1 + 3 + 5 + 7 + 9, sum[0]);
+        assertEquals(55, sum[1]);
+        assertTrue(byAge.containsEntry(20, 4));
+        assertFalse(byAge.containsEntry(20, 5));
+        assertEquals(5, byAge.removeAll(20));
+        assertFalse(byAge.containsKey(20));
+        assertEquals(0, byAge.getAll(20).length);
+        assertEquals(5, byAge.size());
+    }
+}
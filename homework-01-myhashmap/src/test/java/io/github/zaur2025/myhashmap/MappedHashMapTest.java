@@ -0,0 +1,98 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedHashMapTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopen_ShouldSeeAllEntries_AfterTableGrewAndWasClosed() {
+        // Arrange
+        Path file = dir.resolve("users.map");
+        try (MappedHashMap<Long, String> map = new MappedHashMap<>(file, ByteCodec.LONG, ByteCodec.utf8(40), 4)) {
+            for (long id = 0; id < 50_000; id++) {
+                map.put(id, "user" + id + "@mail.ru");
+            }
+            map.remove(7L);
+        }
+
+        // Act
+        try (MappedHashMap<Long, String> map = new MappedHashMap<>(file, ByteCodec.LONG, ByteCodec.utf8(40))) {
+            // Assert
+            assertFalse(map.recovered());
+            assertEquals(49_999, map.size());
+            assertEquals("user0@mail.ru", map.get(0L));
+            assertEquals("user49999@mail.ru", map.get(49_999L));
+            assertNull(map.get(7L));
+        }
+        assertFalse(Files.exists(dir.resolve("users.map.resize")));
+    }
+
+    @Test
+    void generation_ShouldGrowOnlyWhenFileBecomesDirty() {
+        Path file = dir.resolve("gen.map");
+        try (MappedHashMap<Long, Long> map = new MappedHashMap<>(file, ByteCodec.LONG, ByteCodec.LONG)) {
+            assertEquals(0, map.generation());
+
+            map.put(1L, 1L);
+            map.put(2L, 2L);
+            assertEquals(1, map.generation());
+
+            map.flush();
+            map.get(1L);
+            assertEquals(1, map.generation());
+
+            map.remove(1L);
+            assertEquals(2, map.generation());
+        }
+    }
+
+    @Test
+    void open_ShouldRecoverTable_WhenPreviousProcessDidNotClose() {
+        // Arrange - изменения после flush() остаются в состоянии DIRTY, close() не вызывается
+        Path file = dir.resolve("crash.map");
+        MappedHashMap<Long, Long> crashed = new MappedHashMap<>(file, ByteCodec.LONG, ByteCodec.LONG);
+        for (long key = 0; key < 1000; key++) {
+            crashed.put(key, key * 10);
+        }
+        crashed.flush();
+        for (long key = 1000; key < 1500; key++) {
+            crashed.put(key, key * 10);
+        }
+        crashed.remove(3L);
+
+        try {
+            // Act
+            try (MappedHashMap<Long, Long> map = new MappedHashMap<>(file, ByteCodec.LONG, ByteCodec.LONG)) {
+                // Assert
+                assertTrue(map.recovered());
+                assertEquals(1499, map.size());
+                assertEquals(14_990L, map.get(1499L));
+                assertNull(map.get(3L));
+                assertTrue(map.generation() > crashed.generation());
+            }
+        } finally {
+            // Отображение и канал "упавшего" экземпляра освобождаются без записи CLEAN
+            crashed.abandon();
+        }
+    }
+
+    @Test
+    void open_ShouldThrow_WhenCodecsDoNotMatchFile() {
+        Path file = dir.resolve("codec.map");
+        try (MappedHashMap<Long, Long> map = new MappedHashMap<>(file, ByteCodec.LONG, ByteCodec.LONG)) {
+            map.put(1L, 1L);
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedHashMap<>(file, ByteCodec.LONG, ByteCodec.INT));
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyHashMapEvictionTest {
+
+    @Test
+    void lru_ShouldEvictLeastRecentlyUsedEntry() {
+        // Arrange
+        MyHashMap<Integer, String> cache = new MyHashMap<>(3, EvictionPolicy.LRU);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        cache.get(1);
+
+        // Act
+        cache.put(4, "d");
+
+        // Assert
+        assertEquals(3, cache.size());
+        assertNull(cache.get(2));
+        assertEquals("a", cache.get(1));
+        assertEquals("d", cache.get(4));
+        assertEquals(1, cache.stats().evictionCount());
+        assertEquals(3, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void lru_ShouldMatchAccessOrderedLinkedHashMap_WhenBinsAreTreeified() {
+        // Arrange - половина ключей с одинаковым hashCode, их ячейка становится деревом и обратно
+        int maximumSize = 200;
+        MyHashMap<String, Integer> cache = new MyHashMap<>(maximumSize, EvictionPolicy.LRU);
+        Map<String, Integer> expected = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        List<String> keys = collidingStrings(6);
+        for (int i = 0; i < 64; i++) {
+            keys.add("key" + i);
+        }
+        Random random = new Random(17);
+
+        // Act + Assert
+        for (int i = 0; i < 200_000; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.put(key, i), cache.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), cache.remove(key));
+                default -> assertEquals(expected.get(key), cache.get(key));
+            }
+            assertEquals(expected.size(), cache.size());
+        }
+    }
+
+    @Test
+    void weigher_ShouldLimitTotalWeight() {
+        // Arrange - вес значения равен его длине
+        MyHashMap<Integer, String> cache = new MyHashMap<>(100, EvictionPolicy.LRU, (key, value) -> value.length());
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "x".repeat(i % 20));
+        }
+        cache.put(5000, "y".repeat(30));
+
+        // Assert
+        assertTrue(cache.weightedSize() <= 100);
+        assertEquals("y".repeat(30), cache.get(5000));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MyHashMap<Integer, String>(-1, EvictionPolicy.LRU));
+    }
+
+    @Test
+    void tinyLfu_ShouldSizeSketchByEntries_WhenWeightIsInBytes() {
+        // Arrange - максимум 1 ГБ при весе в байтах: размер sketch по весу занял бы 512 МБ
+        MyHashMap<Integer, byte[]> cache = new MyHashMap<>(1L << 30, EvictionPolicy.W_TINY_LFU,
+                (key, value) -> value.length);
+        int initialSketch = cache.sketchCapacity();
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            cache.put(i, new byte[1024]);
+        }
+
+        // Assert - sketch растёт вместе с числом элементов
+        assertTrue(initialSketch <= 16, "sketch пустого кэша: " + initialSketch);
+        assertTrue(cache.sketchCapacity() >= cache.size());
+        assertTrue(cache.sketchCapacity() <= 2 * cache.size(), "sketch: " + cache.sketchCapacity());
+        assertEquals(5_000, cache.size());
+    }
+
+    @Test
+    void tinyLfu_ShouldKeepHotKeys_WhenColdKeysAreScanned() {
+        // Arrange
+        int maximumSize = 1000;
+        MyHashMap<Integer, Integer> lru = new MyHashMap<>(maximumSize, EvictionPolicy.LRU);
+        MyHashMap<Integer, Integer> tinyLfu = new MyHashMap<>(maximumSize, EvictionPolicy.W_TINY_LFU);
+
+        // Act - 500 популярных ключей вперемешку с однократным проходом по миллиону холодных
+        double lruHitRate = hotHitRate(lru);
+        double tinyLfuHitRate = hotHitRate(tinyLfu);
+
+        // Assert
+        assertTrue(tinyLfu.size() <= maximumSize);
+        assertTrue(tinyLfuHitRate > 0.9, "W-TinyLFU: " + tinyLfuHitRate);
+        assertTrue(tinyLfuHitRate >= lruHitRate, "W-TinyLFU: " + tinyLfuHitRate + ", LRU: " + lruHitRate);
+    }
+
+    private static double hotHitRate(MyHashMap<Integer, Integer> cache) {
+        Random random = new Random(5);
+        int hits = 0;
+        int requests = 0;
+        int coldKey = 1_000_000;
+        for (int i = 0; i < 200_000; i++) {
+            int hotKey = random.nextInt(500);
+            requests++;
+            if (cache.get(hotKey) != null) {
+                hits++;
+            } else {
+                cache.put(hotKey, hotKey);
+            }
+            // Каждый холодный ключ запрашивается один раз
+            for (int j = 0; j < 5; j++) {
+                if (cache.get(coldKey) == null) {
+                    cache.put(coldKey, coldKey);
+                }
+                coldKey++;
+            }
+        }
+        return (double) hits / requests;
+    }
+
+    // 2^blocks строк с одинаковым hashCode
+    private static List<String> collidingStrings(int blocks) {
+        List<String> result = new ArrayList<>();
+        result.add("");
+        for (int i = 0; i < blocks; i++) {
+            List<String> next = new ArrayList<>();
+            for (String prefix : result) {
+                next.add(prefix + "Aa");
+                next.add(prefix + "BB");
+            }
+            result = next;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyHashMapParallelTest {
+
+    @Test
+    void parallelBuild_ShouldMatchSequentialPuts_WithDuplicatesAndCollisions() {
+        // Arrange - повторяющиеся ID (побеждает последнее значение) и ключи с одинаковым hashCode
+        Random random = new Random(9);
+        List<long[]> rows = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            rows.add(new long[]{random.nextInt(150_000), i});
+        }
+        Map<Object, Long> expected = new HashMap<>();
+        for (long[] row : rows) {
+            expected.put(keyOf(row[0]), row[1]);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            // Act
+            MyHashMap<Object, Long> map = MyHashMap.parallelBuild(rows, row -> keyOf(row[0]), row -> row[1], pool);
+
+            // Assert
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected, map);
+            map.put("new", -1L);
+            assertEquals(-1L, map.get("new"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelBuild_ShouldSkipNullKeys_AndHandleEmptyInput() {
+        MyHashMap<String, Integer> empty = MyHashMap.parallelBuild(List.<String>of(), s -> s, String::length);
+        MyHashMap<String, Integer> withNulls = MyHashMap.parallelBuild(
+                List.of("a", "bb", "ccc"), s -> s.equals("bb") ? null : s, String::length);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(Map.of("a", 1, "ccc", 3), withNulls);
+    }
+
+    @Test
+    void parallelForEachAndReduce_ShouldVisitEveryEntryOnce() {
+        // Arrange
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, i);
+        }
+        map.put(-1, null);
+
+        // Act
+        LongAdder sum = new LongAdder();
+        LongAdder count = new LongAdder();
+        map.parallelForEach((key, value) -> {
+            count.increment();
+            if (value != null) {
+                sum.add(value);
+            }
+        });
+        Long reduced = map.parallelReduce((key, value) -> value == null ? null : (long) value, Long::sum);
+        Map<Integer, Integer> collected = map.entrySet().parallelStream()
+                .filter(entry -> entry.getValue() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        // Assert
+        long expectedSum = 99_999L * 100_000 / 2;
+        assertEquals(100_001, count.sum());
+        assertEquals(expectedSum, sum.sum());
+        assertEquals(expectedSum, reduced);
+        assertEquals(100_000, collected.size());
+        assertNull(new MyHashMap<Integer, Integer>().parallelReduce((key, value) -> value, Integer::sum));
+    }
+
+    // Каждый третий ключ - строка из набора с одинаковым hashCode
+    private static Object keyOf(long id) {
+        if (id % 3 != 0) {
+            return id;
+        }
+        StringBuilder key = new StringBuilder();
+        for (long bits = id; bits > 0; bits >>>= 1) {
+            key.append((bits & 1) == 0 ? "Aa" : "BB");
+        }
+        return key.toString();
+    }
+}
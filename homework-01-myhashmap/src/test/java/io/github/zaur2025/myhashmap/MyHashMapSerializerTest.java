@@ -0,0 +1,83 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyHashMapSerializerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndRead_ShouldRoundTripThroughFile() throws Exception {
+        // Arrange
+        MyHashMap<Long, String> map = new MyHashMap<>();
+        for (long id = 1; id <= 300_000; id++) {
+            map.put(id, "user" + id + "@почта.рф");
+        }
+        MyHashMapSerializer<Long, String> serializer = new MyHashMapSerializer<>(ByteCodec.LONG, ByteCodec.utf8());
+        Path file = tempDir.resolve("users.snapshot");
+
+        // Act
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            serializer.write(map, channel);
+        }
+        MyHashMap<Long, String> loaded;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            loaded = serializer.read(channel);
+        }
+
+        // Assert
+        assertEquals(map, loaded);
+        assertTrue(loaded.capacity() * 0.75 >= loaded.size());
+        assertFalse(loaded.isMigrating());
+        loaded.put(0L, "new");
+        assertEquals("new", loaded.get(0L));
+    }
+
+    @Test
+    void read_ShouldRejectTruncatedData_AndForeignCodecs() throws Exception {
+        // Arrange
+        MyHashMap<Long, Long> map = new MyHashMap<>();
+        for (long i = 0; i < 1_000; i++) {
+            map.put(i, i * i);
+        }
+        MyHashMapSerializer<Long, Long> serializer = new MyHashMapSerializer<>(ByteCodec.LONG, ByteCodec.LONG);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        serializer.write(map, Channels.newChannel(output));
+        byte[] bytes = output.toByteArray();
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+
+        // Act & Assert
+        assertEquals(24 + 1_000 * 16, bytes.length);
+        assertEquals(map, serializer.read(Channels.newChannel(new ByteArrayInputStream(bytes))));
+        assertThrows(EOFException.class,
+                () -> serializer.read(Channels.newChannel(new ByteArrayInputStream(truncated))));
+        MyHashMapSerializer<Long, Integer> other = new MyHashMapSerializer<>(ByteCodec.LONG, ByteCodec.INT);
+        assertThrows(IllegalArgumentException.class,
+                () -> other.read(Channels.newChannel(new ByteArrayInputStream(bytes))));
+    }
+
+    @Test
+    void utf8SizeOf_ShouldMatchEncodedLength() {
+        ByteCodec<String> codec = ByteCodec.utf8();
+
+        for (String value : List.of("", "ascii", "кириллица", "€uro", "smile😀", "broken\uD800")) {
+            assertEquals(2 + value.getBytes(StandardCharsets.UTF_8).length, codec.sizeOf(value), value);
+        }
+        assertEquals(ByteCodec.LONG.size(), ByteCodec.LONG.sizeOf(42L));
+    }
+}
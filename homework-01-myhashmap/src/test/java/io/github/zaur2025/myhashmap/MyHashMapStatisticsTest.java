@@ -0,0 +1,111 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyHashMapStatisticsTest {
+
+    @Test
+    void statistics_ShouldBeNull_WhenNotEnabled() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        map.put("a", 1);
+
+        assertNull(map.statistics());
+    }
+
+    @Test
+    void enableStatistics_ShouldCountGetsProbesAndResizes() {
+        // Arrange
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(16);
+        MyHashMapStatistics statistics = map.enableStatistics();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            map.get(i);
+        }
+
+        // Assert
+        assertSame(statistics, map.enableStatistics());
+        assertEquals(10_000, statistics.getSize());
+        assertTrue(statistics.getResizeCount() >= 9);
+        assertEquals(1_000, statistics.getGetCount());
+        assertTrue(statistics.getAverageProbesPerGet() >= 1.0);
+        assertTrue(statistics.getLoad() > 0 && statistics.getLoad() <= 0.75);
+        long[] histogram = statistics.getChainLengthHistogram();
+        long bins = Arrays.stream(histogram).sum();
+        assertTrue(bins >= statistics.getTableLength());
+        assertTrue(statistics.getEstimatedBytes() >= 48L * 10_000);
+
+        statistics.resetCounters();
+        assertEquals(0, statistics.getGetCount());
+        map.disableStatistics();
+        assertNull(map.statistics());
+    }
+
+    @Test
+    void statistics_ShouldCountBothTables_WhenMigrating() {
+        // Arrange - одна ячейка-дерево из 10 ключей и обычные ключи до порога увеличения
+        MyHashMap<Object, Integer> map = new MyHashMap<>(64, 0.75f);
+        for (int i = 0; i < 10; i++) {
+            map.put(new SameBucketKey(i), i);
+        }
+        for (int i = 0; i < 38; i++) {
+            map.put(i, i);
+        }
+
+        // Act - эта вставка запускает увеличение таблицы
+        map.put(38, 38);
+
+        // Assert
+        assertTrue(map.isMigrating());
+        long[] histogram = map.chainLengthHistogram();
+        assertEquals(1, histogram[MyHashMap.TREEIFY_THRESHOLD]);
+        assertEquals(1, map.treeifiedBins());
+        long arrays = 16 + 4L * 128 + 16 + 4L * 64;
+        assertEquals(arrays + 56 + 64L * 10 + 48L * 39, map.estimatedBytes());
+    }
+
+    @Test
+    void register_ShouldExposeAttributesThroughJmx() throws Exception {
+        // Arrange
+        MyHashMap<String, String> map = new MyHashMap<>();
+        map.put("user@example.com", "user");
+        MyHashMapStatistics statistics = map.enableStatistics();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        // Act
+        ObjectName name = statistics.register("users");
+
+        try {
+            // Assert
+            assertTrue(server.isRegistered(name));
+            assertEquals(1, server.getAttribute(name, "Size"));
+            assertEquals(16, server.getAttribute(name, "TableLength"));
+            assertThrows(IllegalStateException.class, () -> statistics.register("users"));
+        } finally {
+            map.disableStatistics();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    private record SameBucketKey(int id) implements Comparable<SameBucketKey> {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public int compareTo(SameBucketKey other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+}
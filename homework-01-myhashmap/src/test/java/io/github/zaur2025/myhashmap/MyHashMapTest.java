@@ -0,0 +1,370 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyHashMapTest {
+
+    @Test
+    void put_ShouldGrowTable_WhenThresholdExceeded() {
+        // Arrange
+        MyHashMap<Integer, String> map = new MyHashMap<>(4, 0.75f);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+
+        // Assert
+        assertEquals(1000, map.size());
+        assertTrue(map.capacity() >= 1000 / 0.75f / 2);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+    }
+
+    @Test
+    void operations_ShouldSeeAllKeys_DuringIncrementalMigration() {
+        // Arrange
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(64, 0.75f);
+        for (int i = 0; i < 48; i++) {
+            map.put(i, i);
+        }
+
+        // Act - эта вставка запускает увеличение таблицы
+        map.put(48, 48);
+
+        // Assert
+        assertTrue(map.isMigrating());
+        for (int i = 0; i <= 48; i++) {
+            assertEquals(i, map.get(i));
+        }
+        assertEquals(10, map.remove(10));
+        assertNull(map.get(10));
+        map.put(20, 200);
+        assertEquals(200, map.get(20));
+        assertEquals(48, map.size());
+    }
+
+    @Test
+    void migration_ShouldFinish_AfterEnoughOperations() {
+        // Arrange
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(16, 0.75f);
+        for (int i = 0; i <= 12; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isMigrating());
+
+        // Act
+        for (int i = 0; i < 16; i++) {
+            map.get(i);
+        }
+
+        // Assert
+        assertFalse(map.isMigrating());
+        assertEquals(32, map.capacity());
+    }
+
+    @Test
+    void put_ShouldKeepAllEntries_WhenResizeHappensDuringMigration() {
+        // Arrange
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(2, 0.5f);
+
+        // Act - маленькая таблица: увеличения идут одно за другим, перенос почти всегда в процессе
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, -i);
+        }
+
+        // Assert
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(-i, map.get(i));
+        }
+    }
+
+    @Test
+    void resize_ShouldStartAfterPreviousMigrationFinished_WhenLoadFactorIsSmall() {
+        // Arrange - при коэффициенте 0.1 до следующего увеличения меньше операций, чем ячеек / MIGRATION_STEP
+        float loadFactor = 0.1f;
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(16, loadFactor);
+
+        // Act & Assert - перед каждой вставкой, которая увеличит таблицу, прошлый перенос уже закончен
+        int resizes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (map.size() + 1 > (int) (map.capacity() * loadFactor)) {
+                assertFalse(map.isMigrating(), "перенос не закончен перед вставкой " + i);
+                resizes++;
+            }
+            map.put(i, -i);
+        }
+        assertTrue(resizes >= 10);
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(-i, map.get(i));
+        }
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenArgumentsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new MyHashMap<String, String>(0));
+        assertThrows(IllegalArgumentException.class, () -> new MyHashMap<String, String>(16, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new MyHashMap<String, String>(16, Float.NaN));
+    }
+
+    @Test
+    void collidingStrings_ShouldBeStoredInTree_AndFoundByKey() {
+        // Arrange - строки из блоков "Aa" и "BB" имеют одинаковый hashCode
+        List<String> keys = collidingStrings(10);
+        MyHashMap<String, Integer> map = new MyHashMap<>(64);
+
+        // Act
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+
+        // Assert
+        assertEquals(1024, map.size());
+        assertTrue(map.isTreeified(keys.get(0)));
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i, map.get(keys.get(i)));
+        }
+        assertNull(map.get("AaAaAaAaAaAaAaAaAaAB"));
+    }
+
+    @Test
+    void tree_ShouldTurnBackIntoChain_WhenItShrinks() {
+        // Arrange
+        List<String> keys = collidingStrings(4);
+        MyHashMap<String, Integer> map = new MyHashMap<>(64);
+        for (String key : keys) {
+            map.put(key, key.length());
+        }
+        assertTrue(map.isTreeified(keys.get(0)));
+
+        // Act
+        for (int i = 0; i < keys.size() - MyHashMap.UNTREEIFY_THRESHOLD; i++) {
+            assertEquals(8, map.remove(keys.get(i)));
+        }
+
+        // Assert
+        String remaining = keys.get(keys.size() - 1);
+        assertFalse(map.isTreeified(remaining));
+        assertEquals(MyHashMap.UNTREEIFY_THRESHOLD, map.size());
+        assertEquals(8, map.get(remaining));
+    }
+
+    @Test
+    void nonComparableCollidingKeys_ShouldMatchHashMap_OnRandomWorkload() {
+        // Arrange - половина ключей несравнимые, у всех ключей всего 4 разных хэша
+        MyHashMap<Object, Integer> map = new MyHashMap<>(64);
+        Map<Object, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        // Act + Assert
+        for (int i = 0; i < 100_000; i++) {
+            int id = random.nextInt(600);
+            Object key = id % 2 == 0 ? new CollidingKey(id) : new ComparableCollidingKey(id);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Object, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void mapViews_ShouldMatchHashMap_WithTreeifiedBins() {
+        // Arrange - 256 ключей с одинаковым hashCode и обычные ключи
+        MyHashMap<String, Integer> map = new MyHashMap<>(64);
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> keys = collidingStrings(8);
+        for (int i = 0; i < 1000; i++) {
+            keys.add("key" + i);
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+            expected.put(keys.get(i), i);
+        }
+
+        // Act
+        Set<String> iteratedKeys = new HashSet<>();
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            iteratedKeys.add(entry.getKey());
+        }
+        long[] forEachSum = new long[1];
+        map.forEach((key, value) -> forEachSum[0] += value);
+
+        // Assert
+        assertEquals(expected.keySet(), iteratedKeys);
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(expected.values().stream().mapToLong(Integer::longValue).sum(), forEachSum[0]);
+        assertEquals(expected.size(), map.values().size());
+        assertTrue(map.containsValue(0));
+        assertTrue(map.entrySet().contains(Map.entry("key5", expected.get("key5"))));
+    }
+
+    @Test
+    void iteratorRemove_ShouldRemoveEntries_WhenTreeShrinksToChain() {
+        // Arrange - 8 ключей с одним hashCode: дерево из TREEIFY_THRESHOLD узлов
+        MyHashMap<String, Integer> map = new MyHashMap<>(64);
+        List<String> keys = collidingStrings(3);
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+        map.put("other", -1);
+        int originalSize = map.size();
+        assertTrue(map.isTreeified(keys.get(0)));
+
+        // Act - первые два выданных ключа удаляются, на втором дерево (6 узлов) становится цепочкой
+        Set<String> seen = new HashSet<>();
+        Set<String> removed = new HashSet<>();
+        int visited = 0;
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next().getKey();
+            visited++;
+            assertTrue(seen.add(key), "Ключ выдан повторно: " + key);
+            if (!key.equals("other") && removed.size() < 2) {
+                removed.add(key);
+                iterator.remove();
+            }
+        }
+
+        // Assert
+        assertEquals(originalSize, visited);
+        assertEquals(originalSize - 2, map.size());
+        assertFalse(map.isTreeified(keys.get(0)));
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            assertEquals(removed.contains(key) ? null : i, map.get(key));
+        }
+    }
+
+    @Test
+    void iterator_ShouldFailFast_WhenMapIsModifiedOutsideIterator() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+
+        Iterator<Integer> iterator = map.keySet().iterator();
+        iterator.next();
+        map.put(100, 100);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+        assertThrows(ConcurrentModificationException.class,
+                () -> map.computeIfAbsent(200, key -> map.put(300, 300)));
+    }
+
+    @Test
+    void computeMethods_ShouldMatchHashMap_OnRandomWorkload() {
+        // Arrange - ключи с 4 разными хэшами, поэтому ячейки становятся деревьями
+        MyHashMap<Object, Integer> map = new MyHashMap<>(64);
+        Map<Object, Integer> expected = new HashMap<>();
+        Random random = new Random(23);
+
+        // Act + Assert
+        for (int i = 0; i < 100_000; i++) {
+            int id = random.nextInt(300);
+            Object key = id % 2 == 0 ? new CollidingKey(id) : new ComparableCollidingKey(id);
+            int value = i;
+            boolean drop = random.nextInt(5) == 0;
+            switch (random.nextInt(7)) {
+                case 0 -> assertEquals(expected.putIfAbsent(key, value), map.putIfAbsent(key, value));
+                case 1 -> assertEquals(expected.computeIfAbsent(key, k -> drop ? null : value),
+                        map.computeIfAbsent(key, k -> drop ? null : value));
+                case 2 -> assertEquals(expected.computeIfPresent(key, (k, v) -> drop ? null : v + value),
+                        map.computeIfPresent(key, (k, v) -> drop ? null : v + value));
+                case 3 -> assertEquals(expected.compute(key, (k, v) -> drop ? null : value),
+                        map.compute(key, (k, v) -> drop ? null : value));
+                case 4 -> assertEquals(expected.merge(key, value, (a, b) -> drop ? null : a - b),
+                        map.merge(key, value, (a, b) -> drop ? null : a - b));
+                case 5 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.getOrDefault(key, -1), map.getOrDefault(key, -1));
+            }
+        }
+        map.replaceAll((key, value) -> value * 2);
+        expected.replaceAll((key, value) -> value * 2);
+        assertEquals(expected, map);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    // 2^blocks строк с одинаковым hashCode
+    private static List<String> collidingStrings(int blocks) {
+        List<String> result = new ArrayList<>();
+        result.add("");
+        for (int i = 0; i < blocks; i++) {
+            List<String> next = new ArrayList<>();
+            for (String prefix : result) {
+                next.add(prefix + "Aa");
+                next.add(prefix + "BB");
+            }
+            result = next;
+        }
+        return result;
+    }
+
+    // Несравнимый ключ с плохим hashCode
+    private static class CollidingKey {
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey other && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 4;
+        }
+    }
+
+    private static class ComparableCollidingKey implements Comparable<ComparableCollidingKey> {
+        final int id;
+
+        ComparableCollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(ComparableCollidingKey other) {
+            return Integer.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComparableCollidingKey other && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id % 4;
+        }
+    }
+}
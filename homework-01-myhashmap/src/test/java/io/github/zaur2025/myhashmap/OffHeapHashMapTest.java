@@ -0,0 +1,83 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapHashMapTest {
+
+    @Test
+    void operations_ShouldMatchHashMap_ForRandomWorkload() {
+        // Arrange - маленькая начальная таблица, чтобы несколько раз увеличиться
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        try (OffHeapHashMap<Long, Long> map = new OffHeapHashMap<>(ByteCodec.LONG, ByteCodec.LONG, 4)) {
+            // Act + Assert
+            for (int i = 0; i < 200_000; i++) {
+                long key = random.nextInt(20_000) * 31L;
+                switch (random.nextInt(3)) {
+                    case 0 -> assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+                    case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                    default -> assertEquals(expected.get(key), map.get(key));
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    void put_ShouldStoreStrings_WhenUtf8CodecIsUsed() {
+        try (OffHeapHashMap<String, String> map =
+                     new OffHeapHashMap<>(ByteCodec.utf8(32), ByteCodec.utf8(64))) {
+            // Act
+            for (int i = 0; i < 10_000; i++) {
+                map.put("user" + i + "@mail.ru", "Пользователь " + i);
+            }
+            assertEquals("Пользователь 1", map.put("user1@mail.ru", "Иван"));
+
+            // Assert
+            assertEquals(10_000, map.size());
+            assertEquals("Иван", map.get("user1@mail.ru"));
+            assertEquals("Пользователь 9999", map.get("user9999@mail.ru"));
+            assertTrue(map.containsKey("user0@mail.ru"));
+            assertNull(map.get("user10000@mail.ru"));
+            assertEquals("Пользователь 5", map.remove("user5@mail.ru"));
+            assertFalse(map.containsKey("user5@mail.ru"));
+        }
+    }
+
+    @Test
+    void put_ShouldThrow_WhenKeyDoesNotFitCodec() {
+        try (OffHeapHashMap<String, Long> map = new OffHeapHashMap<>(ByteCodec.utf8(4), ByteCodec.LONG)) {
+            assertThrows(IllegalArgumentException.class, () -> map.put("too long", 1L));
+            assertThrows(NullPointerException.class, () -> map.put("key", null));
+            assertNull(map.put(null, 1L));
+            assertTrue(map.isEmpty());
+        }
+    }
+
+    @Test
+    void close_ShouldFreeMemory_AndRejectFurtherOperations() {
+        // Arrange
+        OffHeapHashMap<Long, Long> map = new OffHeapHashMap<>(ByteCodec.LONG, ByteCodec.LONG, 1000);
+        map.put(1L, 1L);
+        assertTrue(map.offHeapBytes() >= 1000L * (4 + 8 + 8));
+
+        // Act
+        map.close();
+        map.close();
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> map.get(1L));
+        assertThrows(IllegalStateException.class, () -> map.put(2L, 2L));
+        assertEquals(0, map.size());
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RobinHoodHashMapTest {
+
+    @Test
+    void put_ShouldReturnPreviousValue_WhenKeyExists() {
+        // Arrange
+        MyMap<String, Integer> map = new RobinHoodHashMap<>();
+
+        // Act
+        Integer first = map.put("Ivan", 21);
+        Integer second = map.put("Ivan", 30);
+
+        // Assert
+        assertNull(first);
+        assertEquals(21, second);
+        assertEquals(30, map.get("Ivan"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void operations_ShouldWork_WithCollidingKeys() {
+        // Arrange - "Aa" и "BB" имеют одинаковый hashCode
+        MyMap<String, Integer> map = new RobinHoodHashMap<>();
+        map.put("Aa", 100);
+        map.put("BB", 200);
+        map.put("AaAa", 300);
+        map.put("BBBB", 400);
+
+        // Act
+        Integer removed = map.remove("Aa");
+
+        // Assert
+        assertEquals(100, removed);
+        assertNull(map.get("Aa"));
+        assertEquals(200, map.get("BB"));
+        assertEquals(300, map.get("AaAa"));
+        assertEquals(400, map.get("BBBB"));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void operations_ShouldMatchHashMap_OnRandomWorkload() {
+        // Arrange
+        MyMap<Integer, Integer> map = new RobinHoodHashMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // Act + Assert
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void nullKey_ShouldBeIgnored() {
+        MyMap<String, Integer> map = new RobinHoodHashMap<>();
+
+        assertNull(map.put(null, 1));
+        assertNull(map.get(null));
+        assertNull(map.remove(null));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenLoadFactorOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new RobinHoodHashMap<String, String>(16, 1f));
+        assertThrows(IllegalArgumentException.class, () -> new RobinHoodHashMap<String, String>(16, 0f));
+        assertThrows(IllegalArgumentException.class, () -> new RobinHoodHashMap<String, String>(0));
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SwissHashMapTest {
+
+    @Test
+    void putGetRemove_ShouldMatchHashMap_WhenKeysAreRemovedAndReinserted() {
+        // Arrange
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(20);
+
+        // Act - удаления оставляют надгробия, повторные вставки занимают их
+        for (int i = 0; i < 200_000; i++) {
+            Integer key = random.nextInt(10_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void put_ShouldFindKeys_WhenAllHashCodesCollide() {
+        // Arrange - одинаковый hashCode: все ключи в одной цепочке групп с одинаковым h2
+        record Colliding(int id) {
+            @Override
+            public int hashCode() {
+                return 42;
+            }
+        }
+        SwissHashMap<Colliding, Integer> map = new SwissHashMap<>();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            map.put(new Colliding(i), i);
+        }
+        map.remove(new Colliding(50));
+
+        // Assert
+        assertEquals(99, map.size());
+        assertNull(map.get(new Colliding(50)));
+        for (int i = 0; i < 100; i++) {
+            if (i != 50) {
+                assertEquals(i, map.get(new Colliding(i)));
+            }
+        }
+    }
+
+    @Test
+    void put_ShouldNotGrow_WhenChurnKeepsSizeConstant() {
+        // Arrange
+        SwissHashMap<Integer, String> map = new SwissHashMap<>(1_000);
+        int capacity = map.capacity();
+
+        // Act - скользящее окно из 1000 ключей: надгробия копятся и вычищаются перестройкой
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, "v");
+            if (i >= 1_000) {
+                map.remove(i - 1_000);
+            }
+        }
+
+        // Assert
+        assertEquals(capacity, map.capacity());
+        assertEquals(1_000, map.size());
+        assertEquals("v", map.get(99_999));
+        assertNull(map.get(98_999));
+        assertNull(map.put(null, "x"));
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.zaur2025.myhashmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Utf8KeyHashMapTest {
+
+    @Test
+    void putGetRemove_ShouldMatchHashMap_ForEmailKeys() {
+        // Arrange
+        Utf8KeyHashMap<Integer> map = new Utf8KeyHashMap<>();
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            keys.add("user" + i + "@example.com");
+        }
+        Random random = new Random(15);
+
+        // Act - много удалений и повторных вставок, чтобы slab уплотнялся
+        for (int i = 0; i < 100_000; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        for (String key : keys) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        Map<String, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void putRemove_ShouldMatchHashMap_WhenSlabCompactsInPlace() {
+        // Arrange - мало ключей разной длины и маленький slab: при вставке часто выполняется
+        // уплотнение в массив того же размера
+        for (int seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                keys.add("k" + i + "-" + "x".repeat(random.nextInt(120)));
+            }
+            Utf8KeyHashMap<Integer> map = new Utf8KeyHashMap<>(0);
+            Map<String, Integer> expected = new HashMap<>();
+
+            // Act
+            for (int i = 0; i < 2_000; i++) {
+                String key = keys.get(random.nextInt(keys.size()));
+                if (random.nextBoolean()) {
+                    assertEquals(expected.remove(key), map.remove(key), "seed " + seed);
+                } else {
+                    assertEquals(expected.put(key, i), map.put(key, i), "seed " + seed);
+                }
+            }
+
+            // Assert
+            Map<String, Integer> visited = new HashMap<>();
+            map.forEach(visited::put);
+            assertEquals(expected, visited, "seed " + seed);
+        }
+    }
+
+    @Test
+    void put_ShouldEncodeNonAsciiKeys_LikeStringGetBytes() {
+        // Arrange - кириллица, символ вне BMP, одиночный суррогат и длинный ключ (длина - varint из 2 байт)
+        Utf8KeyHashMap<String> map = new Utf8KeyHashMap<>();
+        List<String> keys = List.of("иван@почта.рф", "smile😀@mail.ru", "broken\uD800@mail.ru",
+                "", "a".repeat(300) + "@example.com");
+
+        // Act
+        keys.forEach(key -> map.put(key, key));
+
+        // Assert
+        keys.forEach(key -> assertEquals(key, map.get(key)));
+        assertEquals(keys.size(), map.size());
+        // Одиночный суррогат кодируется как '?', как в String.getBytes
+        assertEquals("broken\uD800@mail.ru", map.get("broken?@mail.ru"));
+        assertNull(map.get("ИВАН@почта.рф"));
+        assertNull(map.get(42));
+        assertNull(map.put(null, "x"));
+    }
+
+    @Test
+    void estimatedBytes_ShouldStayFarBelowStringKeys() {
+        // Arrange
+        int count = 100_000;
+        Utf8KeyHashMap<Boolean> map = new Utf8KeyHashMap<>(count);
+
+        // Act
+        for (int i = 0; i < count; i++) {
+            map.put("user" + i + "@example.com", Boolean.TRUE);
+        }
+
+        // Assert - ключи по ~22 байта: в slab по 23 байта на ключ, таблица - не больше 24 байт на ключ
+        assertEquals(count, map.size());
+        assertTrue(map.slabBytes() <= count * 23);
+        assertTrue(map.estimatedBytes() < count * 60L);
+    }
+}
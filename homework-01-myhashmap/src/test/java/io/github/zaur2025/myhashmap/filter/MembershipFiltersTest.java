@@ -0,0 +1,219 @@
+package io.github.zaur2025.myhashmap.filter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MembershipFiltersTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void bloomFilter_ShouldHaveNoFalseNegatives_AndRespectFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("user" + i + "@mail.ru");
+        }
+
+        // Assert
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@mail.ru"));
+        }
+        int falsePositives = 0;
+        for (int i = 100_000; i < 200_000; i++) {
+            if (filter.mightContain("user" + i + "@mail.ru")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "ложных срабатываний: " + falsePositives);
+        assertEquals(6, filter.hashCount());
+    }
+
+    @Test
+    void bloomFilter_ShouldRespectFalsePositiveRate_WhenRateIsSmall() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(200_000, 1e-4);
+        for (int i = 0; i < 200_000; i++) {
+            filter.put("user" + i + "@mail.ru");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 200_000; i < 3_200_000; i++) {
+            if (filter.mightContain("user" + i + "@mail.ru")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert: ожидается ~300 из 3 млн, запас на разброс
+        assertTrue(falsePositives < 450, "ложных срабатываний: " + falsePositives);
+    }
+
+    @Test
+    void cuckooFilter_ShouldSupportRemoval_AndFillToHighLoad() {
+        // Arrange
+        CuckooFilter filter = new CuckooFilter(100_000, 0.001);
+
+        // Act - загрузка почти до ёмкости требует вытеснений
+        long target = (long) (filter.capacity() * 0.9);
+        for (long id = 0; id < target; id++) {
+            assertTrue(filter.put(id), "не вставлен " + id);
+        }
+
+        // Assert
+        for (long id = 0; id < target; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+        int falsePositives = 0;
+        for (long id = target; id < target + 100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "ложных срабатываний: " + falsePositives);
+        for (long id = 0; id < target; id += 2) {
+            assertTrue(filter.remove(id));
+        }
+        assertEquals(target / 2, filter.size());
+        for (long id = 1; id < target; id += 2) {
+            assertTrue(filter.mightContain(id));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(1_000, 0.00001));
+    }
+
+    @Test
+    void filters_ShouldRoundTripThroughFile() throws Exception {
+        // Arrange
+        BloomFilter bloom = new BloomFilter(10_000, 0.001);
+        CuckooFilter cuckoo = new CuckooFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.put("key" + i);
+            cuckoo.put("key" + i);
+        }
+
+        // Act
+        bloom.writeTo(tempDir.resolve("bloom.bin"));
+        cuckoo.writeTo(tempDir.resolve("cuckoo.bin"));
+        BloomFilter loadedBloom = BloomFilter.readFrom(tempDir.resolve("bloom.bin"));
+        CuckooFilter loadedCuckoo = CuckooFilter.readFrom(tempDir.resolve("cuckoo.bin"));
+
+        // Assert
+        assertEquals(bloom.bitCount(), loadedBloom.bitCount());
+        assertEquals(cuckoo.size(), loadedCuckoo.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(loadedBloom.mightContain("key" + i));
+            assertTrue(loadedCuckoo.mightContain("key" + i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> CuckooFilter.readFrom(tempDir.resolve("bloom.bin")));
+    }
+
+    @Test
+    void filters_ShouldNotLoseElements_WhenWrittenConcurrently() throws InterruptedException {
+        // Arrange - писатели вставляют, читатель проверяет уже вставленное (в том числе во время вытеснений)
+        BloomFilter bloom = new BloomFilter(200_000, 0.01);
+        CuckooFilter cuckoo = new CuckooFilter(200_000, 0.01);
+        // Граница ID, уже вставленных первым писателем (ID, кратные 4)
+        AtomicLong firstWriterProgress = new AtomicLong();
+        AtomicInteger finished = new AtomicInteger();
+        AtomicInteger misses = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (long id = offset; id < 200_000; id += 4) {
+                    bloom.put(id);
+                    cuckoo.put(id);
+                    if (offset == 0) {
+                        firstWriterProgress.set(id + 1);
+                    }
+                }
+                finished.incrementAndGet();
+            }));
+        }
+        threads.add(new Thread(() -> {
+            while (finished.get() < 4) {
+                long limit = firstWriterProgress.get();
+                for (long id = 0; id < limit; id += 4) {
+                    if (!bloom.mightContain(id) || !cuckoo.mightContain(id)) {
+                        misses.incrementAndGet();
+                    }
+                }
+            }
+        }));
+
+        // Act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(0, misses.get());
+        for (long id = 0; id < 200_000; id++) {
+            assertTrue(bloom.mightContain(id));
+            assertTrue(cuckoo.mightContain(id));
+        }
+        assertEquals(200_000, cuckoo.size());
+    }
+
+    @Test
+    void cuckooFilter_ShouldNotMissStableElements_WhileOtherElementsAreRelocated() throws InterruptedException {
+        // Arrange - маленький почти заполненный фильтр: каждая вставка писателя вытесняет отпечатки,
+        // в том числе отпечатки постоянных элементов, которые проверяют читатели
+        CuckooFilter filter = new CuckooFilter(4_000, 0.01);
+        long stable = (long) (filter.capacity() * 0.7);
+        for (long id = 0; id < stable; id++) {
+            assertTrue(filter.put(id));
+        }
+        long churn = (long) (filter.capacity() * 0.25);
+        AtomicInteger misses = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger(1);
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            for (int round = 0; round < 300; round++) {
+                long base = stable + round * churn;
+                for (long id = base; id < base + churn; id++) {
+                    filter.put(id);
+                }
+                for (long id = base; id < base + churn; id++) {
+                    filter.remove(id);
+                }
+            }
+            running.set(0);
+        }));
+        for (int t = 0; t < 3; t++) {
+            threads.add(new Thread(() -> {
+                while (running.get() == 1) {
+                    for (long id = 0; id < stable; id++) {
+                        if (!filter.mightContain(id)) {
+                            misses.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(0, misses.get());
+        for (long id = 0; id < stable; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.zaur2025.myhashmap.primitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveHashMapsTest {
+
+    @Test
+    void longObjectMap_ShouldMatchHashMap_OnRandomWorkload() {
+        // Arrange
+        LongObjectHashMap<String> map = new LongObjectHashMap<>(4);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(1);
+
+        // Act + Assert - диапазон ключей включает 0 и отрицательные значения
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(4_000) - 2_000;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertTrue(map.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void longLongMap_ShouldMatchHashMap_OnRandomWorkload() {
+        // Arrange - отсутствующий ключ обозначается значением -1
+        LongLongHashMap map = new LongLongHashMap(4, 0.75f, -1L);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(2);
+
+        // Act + Assert
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextLong() % 3_000;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(orNoEntry(expected.put(key, (long) i), -1L), map.put(key, i));
+                case 1 -> assertEquals(orNoEntry(expected.remove(key), -1L), map.remove(key));
+                default -> assertEquals(expected.getOrDefault(key, -1L), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void intIntMap_ShouldMatchHashMap_OnRandomWorkload() {
+        // Arrange
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+
+        // Act + Assert
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(3_000) - 100;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(orNoEntry(expected.put(key, i), 0), map.put(key, i));
+                case 1 -> assertEquals(orNoEntry(expected.remove(key), 0), map.remove(key));
+                default -> assertEquals(expected.getOrDefault(key, 0), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void zeroKey_ShouldBeStoredSeparately() {
+        // Arrange
+        LongLongHashMap map = new LongLongHashMap();
+
+        // Act
+        map.put(0L, 42L);
+        map.put(16L, 7L);
+
+        // Assert
+        assertTrue(map.containsKey(0L));
+        assertEquals(42L, map.get(0L));
+        assertEquals(2, map.size());
+        assertEquals(42L, map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertEquals(7L, map.get(16L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void constructor_ShouldThrow_WhenArgumentsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntHashMap(-1));
+        assertThrows(IllegalArgumentException.class, () -> new LongObjectHashMap<String>(16, 1.5f));
+    }
+
+    private static long orNoEntry(Long value, long noEntryValue) {
+        return value != null ? value : noEntryValue;
+    }
+
+    private static int orNoEntry(Integer value, int noEntryValue) {
+        return value != null ? value : noEntryValue;
+    }
+}
@@ -2,30 +2,52 @@ package io.github.zaur2025.userservice;
 
 import io.github.zaur2025.userservice.dao.UserDao;
 import io.github.zaur2025.userservice.entity.User;
+import io.github.zaur2025.userservice.importer.ImportResult;
+import io.github.zaur2025.userservice.importer.UserImporter;
 import io.github.zaur2025.userservice.util.HibernateUtil;
+import org.hibernate.Session;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 public class Main {
     private static final UserDao userDao = new UserDao();
     private static final Scanner scanner = new Scanner(System.in);
+    // Пользователей на странице при постраничном просмотре
+    private static final int PAGE_SIZE = 10;
 
     public static void main(String[] args) {
         System.out.println("=== User Service Console Application ===");
         System.out.println("Подключение к базе данных...");
 
-        // Тестовое подключение к БД
-        try {
-            HibernateUtil.getSessionFactory().openSession();
+        // Тестовое подключение к БД (сессия сразу закрывается, чтобы вернуть соединение в пул)
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.doWork(connection -> connection.isValid(5));
             System.out.println("✓ Подключение к БД успешно");
         } catch (Exception e) {
             System.err.println("✗ Ошибка подключения к БД: " + e.getMessage());
             System.exit(1);
         }
 
+        // Пакетный режим: java ... Main import <файл> [--batch] - импорт без меню
+        if (args.length > 0 && "import".equals(args[0])) {
+            if (args.length < 2) {
+                System.err.println("Использование: import <файл.csv|файл.jsonl> [--batch]");
+                HibernateUtil.shutdown();
+                System.exit(2);
+            }
+            boolean useCopy = !(args.length > 2 && "--batch".equals(args[2]));
+            boolean success = runImport(Path.of(args[1]), useCopy);
+            HibernateUtil.shutdown();
+            System.exit(success ? 0 : 1);
+        }
+
         showMenu();
     }
 
@@ -39,8 +61,11 @@ public class Main {
             System.out.println("5. Обновить пользователя");
             System.out.println("6. Удалить пользователя");
             System.out.println("7. Удалить всех пользователей");
-            System.out.println("8. Выход");
-            System.out.print("Выберите действие (1-8): ");
+            System.out.println("8. Постраничный просмотр пользователей");
+            System.out.println("9. Импорт пользователей из CSV/JSONL");
+            System.out.println("10. Статистика пула соединений");
+            System.out.println("11. Выход");
+            System.out.print("Выберите действие (1-11): ");
 
             try {
                 int choice = Integer.parseInt(scanner.nextLine());
@@ -53,7 +78,10 @@ public class Main {
                     case 5 -> updateUser();
                     case 6 -> deleteUser();
                     case 7 -> deleteAllUsers();
-                    case 8 -> {
+                    case 8 -> browseUsers();
+                    case 9 -> importUsers();
+                    case 10 -> showPoolStatistics();
+                    case 11 -> {
                         System.out.println("Завершение работы...");
                         HibernateUtil.shutdown();
                         scanner.close();
@@ -62,7 +90,7 @@ public class Main {
                     default -> System.out.println("Неверный выбор. Попробуйте снова.");
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Пожалуйста, введите число от 1 до 8.");
+                System.out.println("Пожалуйста, введите число от 1 до 11.");
             } catch (Exception e) {
                 System.err.println("Ошибка: " + e.getMessage());
             }
@@ -129,15 +157,53 @@ public class Main {
     private static void showAllUsers() {
         System.out.println("\n--- Все пользователи ---");
 
-        List<User> users = userDao.findAll();
+        // Пользователи выводятся по мере чтения из БД, без загрузки всей таблицы в память
+        int count = 0;
+        try (Stream<User> users = userDao.streamAll()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                count++;
+                System.out.println("\n[" + count + "]");
+                printUser(iterator.next());
+            }
+        }
 
-        if (users.isEmpty()) {
+        if (count == 0) {
             System.out.println("В базе данных нет пользователей.");
         } else {
-            System.out.println("Найдено пользователей: " + users.size());
-            for (int i = 0; i < users.size(); i++) {
-                System.out.println("\n[" + (i + 1) + "]");
-                printUser(users.get(i));
+            System.out.println("\nНайдено пользователей: " + count);
+        }
+    }
+
+    private static void browseUsers() {
+        System.out.println("\n--- Постраничный просмотр пользователей ---");
+        System.out.print("Сортировка: 1 - по ID, 2 - по email: ");
+        boolean byEmail = "2".equals(scanner.nextLine().trim());
+
+        // Следующая страница начинается после последнего показанного пользователя
+        Long lastId = null;
+        String lastEmail = null;
+        int shown = 0;
+        while (true) {
+            List<User> page = byEmail
+                    ? userDao.findPageByEmail(lastEmail, PAGE_SIZE)
+                    : userDao.findPage(lastId, PAGE_SIZE);
+            for (User user : page) {
+                shown++;
+                System.out.println("\n[" + shown + "]");
+                printUser(user);
+            }
+            if (page.size() < PAGE_SIZE) {
+                System.out.println(shown == 0 ? "В базе данных нет пользователей." : "\nПоказаны все пользователи: " + shown);
+                return;
+            }
+            User last = page.get(page.size() - 1);
+            lastId = last.getId();
+            lastEmail = last.getEmail();
+
+            System.out.print("\nEnter - следующая страница, q - выход: ");
+            if ("q".equalsIgnoreCase(scanner.nextLine().trim())) {
+                return;
             }
         }
     }
@@ -219,6 +285,36 @@ public class Main {
         }
     }
 
+    private static void importUsers() {
+        System.out.println("\n--- Импорт пользователей из файла ---");
+        System.out.print("Путь к файлу (.csv с заголовком name,email,age или .jsonl): ");
+        Path file = Path.of(scanner.nextLine().trim());
+        if (!Files.isRegularFile(file)) {
+            System.out.println("✗ Файл не найден: " + file);
+            return;
+        }
+        runImport(file, true);
+    }
+
+    private static boolean runImport(Path file, boolean useCopy) {
+        System.out.println("Импорт из " + file + "...");
+        try {
+            UserImporter importer = new UserImporter(userDao, HibernateUtil.getImportDataSource(), System.out);
+            ImportResult result = importer.importFile(file, useCopy);
+            System.out.println("✓ Импорт завершён");
+            System.out.println(result);
+            return true;
+        } catch (Exception e) {
+            System.err.println("✗ Ошибка импорта: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void showPoolStatistics() {
+        System.out.println("\n--- Статистика пула соединений ---");
+        System.out.println(HibernateUtil.getPoolStatistics());
+    }
+
     private static void printUser(User user) {
         System.out.println("ID: " + user.getId());
         System.out.println("Имя: " + user.getName());
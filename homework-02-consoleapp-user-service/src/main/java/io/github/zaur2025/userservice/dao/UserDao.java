@@ -2,15 +2,30 @@ package io.github.zaur2025.userservice.dao;
 
 import io.github.zaur2025.userservice.entity.User;
 import io.github.zaur2025.userservice.util.HibernateUtil;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class UserDao {
 
+    // Размер пачки: совпадает с hibernate.jdbc.batch_size и шагом последовательности users_seq
+    private static final int BATCH_SIZE = 50;
+    // Сколько строк драйвер получает из курсора за одно обращение при потоковом чтении
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
     // CREATE - сохранение пользователя
     public Long save(User user) {
         Transaction transaction = null;
@@ -27,6 +42,32 @@ public class UserDao {
         }
     }
 
+    // CREATE - пакетное сохранение в одной транзакции, возвращает количество сохранённых.
+    // INSERT отправляются пачками по BATCH_SIZE; после каждой пачки сессия сбрасывается и очищается,
+    // чтобы кэш первого уровня не рос вместе с размером коллекции. ID проставляются в объекты users
+    public int saveAll(Collection<User> users) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(BATCH_SIZE);
+            transaction = session.beginTransaction();
+            int count = 0;
+            for (User user : users) {
+                session.persist(user);
+                if (++count % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+            return count;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Ошибка при пакетном сохранении пользователей", e);
+        }
+    }
+
     // READ - поиск по ID
     public Optional<User> findById(Long id) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
@@ -47,6 +88,95 @@ public class UserDao {
         }
     }
 
+    // READ - потоковое чтение всех пользователей в порядке ID без загрузки таблицы в память.
+    // Строки читаются из курсора БД пачками по fetchSize через StatelessSession (без кэша первого уровня),
+    // поэтому память не зависит от числа строк. Сессия и транзакция открыты, пока поток не закрыт:
+    // поток нужно закрывать (try-with-resources), иначе соединение не вернётся в пул
+    public Stream<User> streamAll() {
+        return streamAll(DEFAULT_FETCH_SIZE);
+    }
+
+    public Stream<User> streamAll(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Размер выборки должен быть положительным: " + fetchSize);
+        }
+        StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession();
+        Transaction transaction = null;
+        try {
+            // PostgreSQL читает результат через курсор только вне режима autocommit
+            transaction = session.beginTransaction();
+            ScrollableResults<User> results = session.createQuery("FROM User ORDER BY id", User.class)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            Transaction streamTransaction = transaction;
+            Spliterator<User> spliterator = new Spliterators.AbstractSpliterator<>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super User> action) {
+                    if (!results.next()) {
+                        return false;
+                    }
+                    action.accept(results.get());
+                    return true;
+                }
+            };
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    results.close();
+                    if (streamTransaction.isActive()) {
+                        streamTransaction.commit();
+                    }
+                } finally {
+                    session.close();
+                }
+            });
+        } catch (Exception e) {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            session.close();
+            throw new RuntimeException("Ошибка при потоковом чтении пользователей", e);
+        }
+    }
+
+    // READ - страница пользователей по возрастанию ID после afterId (keyset-пагинация).
+    // Условие id > afterId идёт по индексу первичного ключа, поэтому страница читается за O(limit)
+    // на любой глубине, а OFFSET пропускал бы все предыдущие строки.
+    // afterId = null - первая страница; для следующей передаётся ID последнего пользователя страницы
+    public List<User> findPage(Long afterId, int limit) {
+        checkLimit(limit);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<User> query;
+            if (afterId == null) {
+                query = session.createQuery("FROM User ORDER BY id", User.class);
+            } else {
+                query = session.createQuery("FROM User WHERE id > :afterId ORDER BY id", User.class);
+                query.setParameter("afterId", afterId);
+            }
+            return query.setMaxResults(limit).list();
+        } catch (Exception e) {
+            throw new RuntimeException("Ошибка при чтении страницы пользователей после ID: " + afterId, e);
+        }
+    }
+
+    // READ - страница пользователей по возрастанию email после afterEmail.
+    // email уникален, поэтому сам является ключом страницы и читается по индексу уникальности
+    public List<User> findPageByEmail(String afterEmail, int limit) {
+        checkLimit(limit);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<User> query;
+            if (afterEmail == null) {
+                query = session.createQuery("FROM User ORDER BY email", User.class);
+            } else {
+                query = session.createQuery("FROM User WHERE email > :afterEmail ORDER BY email", User.class);
+                query.setParameter("afterEmail", afterEmail);
+            }
+            return query.setMaxResults(limit).list();
+        } catch (Exception e) {
+            throw new RuntimeException("Ошибка при чтении страницы пользователей после email: " + afterEmail, e);
+        }
+    }
+
     // READ - поиск по email
     public Optional<User> findByEmail(String email) {
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
@@ -60,6 +190,20 @@ public class UserDao {
         }
     }
 
+    // READ - пользователи с указанными email одним запросом (для импорта)
+    public List<User> findAllByEmail(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("FROM User WHERE email IN :emails", User.class)
+                    .setParameter("emails", emails)
+                    .list();
+        } catch (Exception e) {
+            throw new RuntimeException("Ошибка при поиске пользователей по email", e);
+        }
+    }
+
     // UPDATE - обновление пользователя
     public void update(User user) {
         Transaction transaction = null;
@@ -75,6 +219,36 @@ public class UserDao {
         }
     }
 
+    // UPDATE - пакетное обновление в одной транзакции.
+    // Текущие строки пачки загружаются одним запросом, поэтому merge не делает SELECT на каждого
+    // пользователя; UPDATE отправляются пачками по BATCH_SIZE
+    public void updateAll(Collection<User> users) {
+        for (User user : users) {
+            if (user.getId() == null) {
+                throw new IllegalArgumentException("ID пользователя не указан: " + user);
+            }
+        }
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(BATCH_SIZE);
+            transaction = session.beginTransaction();
+            List<User> batch = new ArrayList<>(BATCH_SIZE);
+            for (User user : users) {
+                batch.add(user);
+                if (batch.size() == BATCH_SIZE) {
+                    mergeBatch(session, batch);
+                }
+            }
+            mergeBatch(session, batch);
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Ошибка при пакетном обновлении пользователей", e);
+        }
+    }
+
     // DELETE - удаление пользователя по ID
     public boolean delete(Long id) {
         Transaction transaction = null;
@@ -112,4 +286,23 @@ public class UserDao {
             throw new RuntimeException("Ошибка при удалении всех пользователей", e);
         }
     }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным: " + limit);
+        }
+    }
+
+    private static void mergeBatch(Session session, List<User> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        session.byMultipleIds(User.class).multiLoad(batch.stream().map(User::getId).toList());
+        for (User user : batch) {
+            session.merge(user);
+        }
+        session.flush();
+        session.clear();
+        batch.clear();
+    }
 }
\ No newline at end of file
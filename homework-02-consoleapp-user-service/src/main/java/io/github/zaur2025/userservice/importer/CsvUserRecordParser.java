@@ -0,0 +1,94 @@
+package io.github.zaur2025.userservice.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Разбор CSV: разделитель - запятая, поле в кавычках может содержать запятые и удвоенные кавычки ("").
+// Переводы строк внутри поля не поддерживаются: файл читается построчно.
+// Пустой возраст - null
+class CsvUserRecordParser implements UserRecordParser {
+
+    private final int nameColumn;
+    private final int emailColumn;
+    private final int ageColumn;
+    private final int columnCount;
+
+    CsvUserRecordParser(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV-файл пуст: нет строки заголовка");
+        }
+        List<String> columns = split(stripBom(header));
+        int name = -1;
+        int email = -1;
+        int age = -1;
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> name = i;
+                case "email" -> email = i;
+                case "age" -> age = i;
+                default -> { }
+            }
+        }
+        if (name < 0 || email < 0) {
+            throw new IllegalArgumentException("В заголовке CSV нет колонок name и email: " + header);
+        }
+        this.nameColumn = name;
+        this.emailColumn = email;
+        this.ageColumn = age;
+        this.columnCount = columns.size();
+    }
+
+    @Override
+    public UserRecord parse(long line, String text) {
+        List<String> fields = split(text);
+        if (fields.size() != columnCount) {
+            throw new IllegalArgumentException("Ожидалось колонок: " + columnCount + ", получено: " + fields.size());
+        }
+        Integer age = null;
+        if (ageColumn >= 0 && !fields.get(ageColumn).isBlank()) {
+            try {
+                age = Integer.parseInt(fields.get(ageColumn).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Возраст не число: " + fields.get(ageColumn));
+            }
+        }
+        return UserRecord.validated(line, fields.get(nameColumn), fields.get(emailColumn), age);
+    }
+
+    private static List<String> split(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Незакрытая кавычка");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Excel сохраняет UTF-8 с BOM в начале файла
+    private static String stripBom(String header) {
+        return !header.isEmpty() && header.charAt(0) == '\uFEFF' ? header.substring(1) : header;
+    }
+}
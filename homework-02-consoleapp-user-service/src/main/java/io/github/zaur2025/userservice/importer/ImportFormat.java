@@ -0,0 +1,23 @@
+package io.github.zaur2025.userservice.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Формат файла импорта определяется по расширению
+public enum ImportFormat {
+    // Первая строка - заголовок с колонками name, email, age в любом порядке
+    CSV,
+    // Одна строка - один JSON-объект {"name": ..., "email": ..., "age": ...}
+    JSONL;
+
+    public static ImportFormat fromFileName(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException("Неизвестный формат файла (ожидается .csv или .jsonl): " + file);
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.zaur2025.userservice.importer;
+
+import java.time.Duration;
+
+// Итог импорта: строки файла, отклонённые при проверке, добавленные и обновлённые пользователи
+public record ImportResult(long lines,
+                           long invalid,
+                           long inserted,
+                           long updated,
+                           Duration elapsed,
+                           boolean copy) {
+
+    public double linesPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? lines / seconds : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Строк: %,d, с ошибками: %,d, добавлено: %,d, обновлено: %,d%n"
+                        + "Время: %.1f с, %,.0f строк/с, способ загрузки: %s",
+                lines, invalid, inserted, updated, elapsed.toMillis() / 1000.0, linesPerSecond(),
+                copy ? "COPY" : "пакетная вставка");
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.zaur2025.userservice.importer;
+
+import java.sql.SQLException;
+import java.util.List;
+
+// Приёмник проверенных записей импорта. Записи приходят пачками в порядке строк файла
+interface ImportSink {
+
+    void write(List<UserRecord> records) throws SQLException;
+
+    // Завершение импорта: слияние с таблицей users и фиксация
+    MergeCounts finish() throws SQLException;
+
+    // Отмена импорта после ошибки; исключения не выбрасывает
+    void abort();
+
+    // Сколько пользователей добавлено и сколько существующих (по email) обновлено
+    record MergeCounts(long inserted, long updated) {
+    }
+}
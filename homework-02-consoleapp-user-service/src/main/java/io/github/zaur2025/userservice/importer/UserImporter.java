@@ -0,0 +1,187 @@
+package io.github.zaur2025.userservice.importer;
+
+import io.github.zaur2025.userservice.dao.UserDao;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Импорт пользователей из CSV или JSONL.
+// Файл читается построчно одним потоком и режется на пачки по CHUNK_SIZE строк. Пачки разбираются
+// и проверяются параллельно, а в БД записываются в порядке файла (при повторе email побеждает
+// последняя строка). Одновременно в работе не больше 2 пачек на поток проверки,
+// поэтому память не зависит от размера файла.
+// Для PostgreSQL записи идут через COPY (CopyImportSink), иначе - пакетной вставкой через UserDao.
+// Раз в секунду в консоль выводятся прогресс и скорость.
+public class UserImporter {
+
+    private static final int CHUNK_SIZE = 10_000;
+    // Сколько ошибок проверки выводится построчно; остальные только считаются
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final UserDao userDao;
+    private final DataSource dataSource;
+    private final PrintStream out;
+    private final int threads;
+
+    public UserImporter(UserDao userDao, DataSource dataSource, PrintStream out) {
+        this(userDao, dataSource, out, Runtime.getRuntime().availableProcessors());
+    }
+
+    public UserImporter(UserDao userDao, DataSource dataSource, PrintStream out, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Число потоков проверки должно быть положительным: " + threads);
+        }
+        this.userDao = userDao;
+        this.dataSource = dataSource;
+        this.out = out;
+        this.threads = threads;
+    }
+
+    // useCopy = false - сразу пакетная вставка (например, для сравнения скорости)
+    public ImportResult importFile(Path file, boolean useCopy) throws IOException, SQLException {
+        ImportFormat format = ImportFormat.fromFileName(file);
+        ImportSink sink = useCopy ? CopyImportSink.open(dataSource) : null;
+        if (sink == null) {
+            if (useCopy) {
+                out.println("COPY недоступен для этой БД, используется пакетная вставка");
+            }
+            sink = new BatchImportSink(userDao);
+        }
+        boolean copy = sink instanceof CopyImportSink;
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Progress progress = new Progress(start);
+        boolean finished = false;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            String header = null;
+            if (format == ImportFormat.CSV) {
+                header = reader.readLine();
+                lineNumber++;
+            }
+            UserRecordParser parser = UserRecordParser.forFormat(format, header);
+
+            Deque<Future<ParsedChunk>> pending = new ArrayDeque<>();
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            long firstLine = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    pending.add(submit(executor, parser, lines, firstLine));
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                    firstLine = lineNumber + 1;
+                    if (pending.size() >= 2 * threads) {
+                        write(sink, pending.poll(), progress);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                pending.add(submit(executor, parser, lines, firstLine));
+            }
+            while (!pending.isEmpty()) {
+                write(sink, pending.poll(), progress);
+            }
+
+            out.println("Файл прочитан, слияние с таблицей users...");
+            ImportSink.MergeCounts counts = sink.finish();
+            finished = true;
+            return new ImportResult(progress.lines, progress.invalid, counts.inserted(), counts.updated(),
+                    Duration.ofNanos(System.nanoTime() - start), copy);
+        } finally {
+            executor.shutdownNow();
+            if (!finished) {
+                sink.abort();
+            }
+        }
+    }
+
+    private static Future<ParsedChunk> submit(ExecutorService executor, UserRecordParser parser,
+                                              List<String> lines, long firstLine) {
+        return executor.submit(() -> ParsedChunk.parse(parser, lines, firstLine));
+    }
+
+    private void write(ImportSink sink, Future<ParsedChunk> future, Progress progress) throws SQLException {
+        ParsedChunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Импорт прерван", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка проверки строк", e.getCause());
+        }
+        for (String error : chunk.errors()) {
+            if (progress.invalid++ < MAX_REPORTED_ERRORS) {
+                out.println(error);
+            }
+        }
+        if (!chunk.records().isEmpty()) {
+            sink.write(chunk.records());
+        }
+        progress.lines += chunk.lines();
+        progress.report();
+    }
+
+    // Результат разбора пачки: проверенные записи и сообщения об ошибках вида "Строка N: причина"
+    private record ParsedChunk(List<UserRecord> records, List<String> errors, int lines) {
+
+        static ParsedChunk parse(UserRecordParser parser, List<String> lines, long firstLine) {
+            List<UserRecord> records = new ArrayList<>(lines.size());
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                String text = lines.get(i);
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(parser.parse(firstLine + i, text));
+                } catch (IllegalArgumentException e) {
+                    errors.add("Строка " + (firstLine + i) + ": " + e.getMessage());
+                }
+            }
+            return new ParsedChunk(records, errors, lines.size());
+        }
+    }
+
+    // Счётчики прогресса; изменяются только потоком, который пишет в БД
+    private class Progress {
+        private final long start;
+        private long lastReport;
+        private long lines;
+        private long invalid;
+
+        Progress(long start) {
+            this.start = start;
+            this.lastReport = start;
+        }
+
+        void report() {
+            long now = System.nanoTime();
+            if (now - lastReport < PROGRESS_INTERVAL_NANOS) {
+                return;
+            }
+            lastReport = now;
+            double seconds = (now - start) / 1_000_000_000.0;
+            out.printf("Обработано строк: %,d (с ошибками: %,d), %,.0f строк/с%n", lines, invalid, lines / seconds);
+        }
+    }
+}
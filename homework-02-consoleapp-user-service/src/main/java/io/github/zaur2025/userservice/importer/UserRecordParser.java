@@ -0,0 +1,17 @@
+package io.github.zaur2025.userservice.importer;
+
+// Разбор одной строки файла импорта в проверенную запись.
+// Реализации не хранят состояния между строками и вызываются из нескольких потоков одновременно
+public interface UserRecordParser {
+
+    // IllegalArgumentException с причиной, если строку нельзя разобрать или она не прошла проверку
+    UserRecord parse(long line, String text);
+
+    // header - первая строка CSV-файла (для JSONL не используется)
+    static UserRecordParser forFormat(ImportFormat format, String header) {
+        return switch (format) {
+            case CSV -> new CsvUserRecordParser(header);
+            case JSONL -> new JsonlUserRecordParser();
+        };
+    }
+}
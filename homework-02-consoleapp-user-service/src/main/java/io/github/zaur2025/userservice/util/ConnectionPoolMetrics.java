@@ -0,0 +1,70 @@
+package io.github.zaur2025.userservice.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Метрики пула HikariCP: сколько соединений выдано, сколько потоки ждали соединение,
+// сколько соединение было занято и сколько раз ожидание закончилось тайм-аутом.
+// Hikari вызывает трекер при каждой выдаче и возврате соединения из разных потоков,
+// поэтому счётчики - LongAdder без общей блокировки.
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquired.increment();
+                waitNanos.add(elapsedAcquiredNanos);
+                maxWaitNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    // Количество выданных соединений
+    public long acquiredConnections() {
+        return acquired.sum();
+    }
+
+    // Среднее время ожидания соединения, мс
+    public double averageWaitMillis() {
+        long count = acquired.sum();
+        return count == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    // Наибольшее время ожидания соединения, мс
+    public double maxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    // Среднее время, которое соединение было занято, мс
+    public double averageUsageMillis() {
+        long count = acquired.sum();
+        return count == 0 ? 0 : (double) usageMillis.sum() / count;
+    }
+
+    // Сколько раз соединение не удалось получить за connectionTimeout
+    public long connectionTimeouts() {
+        return timeouts.sum();
+    }
+}
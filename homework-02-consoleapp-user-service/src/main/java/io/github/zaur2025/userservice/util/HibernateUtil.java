@@ -1,34 +1,143 @@
 package io.github.zaur2025.userservice.util;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.github.zaur2025.userservice.entity.User;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
 
+import javax.sql.DataSource;
+import java.util.Properties;
+
+// SessionFactory поверх пула соединений HikariCP.
+// Пул создаётся из свойств hibernate.connection.* (адрес, логин, пароль, драйвер)
+// и hibernate.hikari.* (имена свойств HikariConfig без префикса) и передаётся в Hibernate как DataSource.
+// Системные свойства hibernate.* (-Dhibernate.connection.url=...) переопределяют hibernate.cfg.xml.
+// SessionFactory создаётся при первом обращении.
 public class HibernateUtil {
+    private static final String HIKARI_PREFIX = "hibernate.hikari.";
+    // Ключи hibernate.cfg.xml; константы AvailableSettings для них устарели в Hibernate 6.4,
+    // а замены JdbcSettings.JAKARTA_* означают другие ключи (jakarta.persistence.*)
+    private static final String URL = "hibernate.connection.url";
+    private static final String USER = "hibernate.connection.username";
+    private static final String PASS = "hibernate.connection.password";
+    private static final String DRIVER = "hibernate.connection.driver_class";
+    private static final String DATASOURCE = "hibernate.connection.datasource";
+
     private static SessionFactory sessionFactory;
+    private static HikariDataSource dataSource;
+    private static ConnectionPoolMetrics poolMetrics;
+    private static HikariDataSource importDataSource;
 
-    static {
+    public static synchronized SessionFactory getSessionFactory() {
+        if (sessionFactory == null) {
+            buildSessionFactory();
+        }
+        return sessionFactory;
+    }
+
+    // Отдельный пул из одного соединения для импорта (COPY держит соединение всё время загрузки).
+    // Настройки копируются из основного пула, но поиск утечек выключен: иначе каждый импорт дольше
+    // leakDetectionThreshold оставлял бы в логе ложное предупреждение. Соединение импорта
+    // к тому же не занимает место в основном пуле и не попадает в его статистику
+    public static synchronized DataSource getImportDataSource() {
+        getSessionFactory();
+        if (importDataSource == null) {
+            HikariConfig config = new HikariConfig();
+            dataSource.copyStateTo(config);
+            config.setPoolName(dataSource.getPoolName() + "-import");
+            config.setLeakDetectionThreshold(0);
+            config.setMinimumIdle(0);
+            config.setMaximumPoolSize(1);
+            config.setMetricsTrackerFactory(null);
+            importDataSource = new HikariDataSource(config);
+        }
+        return importDataSource;
+    }
+
+    // Текущее состояние пула и время ожидания соединений
+    public static synchronized PoolStatistics getPoolStatistics() {
+        getSessionFactory();
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new PoolStatistics(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(),
+                poolMetrics.acquiredConnections(),
+                poolMetrics.averageWaitMillis(),
+                poolMetrics.maxWaitMillis(),
+                poolMetrics.averageUsageMillis(),
+                poolMetrics.connectionTimeouts());
+    }
+
+    public static synchronized void shutdown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            sessionFactory = null;
+        }
+        if (importDataSource != null) {
+            importDataSource.close();
+            importDataSource = null;
+        }
+        // DataSource передан в Hibernate извне, поэтому SessionFactory его не закрывает
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    private static void buildSessionFactory() {
+        HikariDataSource newDataSource = null;
         try {
             // Загружаем конфиг из hibernate.cfg.xml
             Configuration configuration = new Configuration();
             configuration.configure("hibernate.cfg.xml");
+            System.getProperties().forEach((key, value) -> {
+                if (key.toString().startsWith("hibernate.")) {
+                    configuration.setProperty(key.toString(), value.toString());
+                }
+            });
 
             // Регистрируем нашу сущность
-            configuration.addAnnotatedClass(io.github.zaur2025.userservice.entity.User.class);
+            configuration.addAnnotatedClass(User.class);
+
+            ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+            Properties settings = configuration.getProperties();
+            newDataSource = createDataSource(settings, metrics);
+            settings.put(DATASOURCE, newDataSource);
+            // С логином и паролем Hibernate запрашивает соединение через getConnection(user, password),
+            // которое HikariCP не поддерживает: они уже заданы в самом пуле
+            settings.remove(USER);
+            settings.remove(PASS);
 
             sessionFactory = configuration.buildSessionFactory();
+            dataSource = newDataSource;
+            poolMetrics = metrics;
         } catch (Exception e) {
+            if (newDataSource != null) {
+                newDataSource.close();
+            }
             System.err.println("Ошибка создания SessionFactory: " + e);
-            throw new ExceptionInInitializerError(e);
+            throw new IllegalStateException("Ошибка создания SessionFactory", e);
         }
     }
 
-    public static SessionFactory getSessionFactory() {
-        return sessionFactory;
-    }
-
-    public static void shutdown() {
-        if (sessionFactory != null) {
-            sessionFactory.close();
-        }
+    private static HikariDataSource createDataSource(Properties settings, ConnectionPoolMetrics metrics) {
+        Properties hikariProperties = new Properties();
+        settings.forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith(HIKARI_PREFIX)) {
+                hikariProperties.setProperty(name.substring(HIKARI_PREFIX.length()), value.toString());
+            }
+        });
+        HikariConfig config = new HikariConfig(hikariProperties);
+        config.setJdbcUrl(settings.getProperty(URL));
+        config.setUsername(settings.getProperty(USER));
+        config.setPassword(settings.getProperty(PASS));
+        config.setDriverClassName(settings.getProperty(DRIVER));
+        config.setMetricsTrackerFactory(metrics);
+        return new HikariDataSource(config);
     }
-}
\ No newline at end of file
+}
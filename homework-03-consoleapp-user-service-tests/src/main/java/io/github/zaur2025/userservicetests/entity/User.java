@@ -7,8 +7,12 @@ import java.time.LocalDateTime;
 @Table(name = "users")  // таблица в БД будет называться "users"
 public class User {
 
+    // Последовательность с шагом 50: Hibernate получает 50 ID за одно обращение к БД
+    // и может отправлять INSERT пачками (с IDENTITY пакетная вставка отключается).
+    // Для существующей БД последовательность создаётся вручную, см. README
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
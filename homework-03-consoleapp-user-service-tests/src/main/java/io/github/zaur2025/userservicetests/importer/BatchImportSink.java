@@ -0,0 +1,62 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import io.github.zaur2025.userservicetests.dao.UserDao;
+import io.github.zaur2025.userservicetests.entity.User;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Запасной путь импорта через Hibernate (UserDao.saveAll/updateAll), если COPY недоступен.
+// В каждой пачке повторы email схлопываются (побеждает последняя строка), существующие по email
+// пользователи обновляются, остальные вставляются. Каждая пачка - отдельные транзакции,
+// поэтому при ошибке уже записанные пачки остаются в БД.
+class BatchImportSink implements ImportSink {
+
+    private final UserDao userDao;
+    private long inserted;
+    private long updated;
+
+    BatchImportSink(UserDao userDao) {
+        this.userDao = userDao;
+    }
+
+    @Override
+    public void write(List<UserRecord> records) {
+        Map<String, UserRecord> latest = new LinkedHashMap<>();
+        for (UserRecord record : records) {
+            latest.put(record.email(), record);
+        }
+        Map<String, User> existing = userDao.findAllByEmail(latest.keySet()).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        List<User> newUsers = new ArrayList<>();
+        List<User> changedUsers = new ArrayList<>();
+        for (UserRecord record : latest.values()) {
+            User user = existing.get(record.email());
+            if (user == null) {
+                newUsers.add(new User(record.name(), record.email(), record.age()));
+            } else {
+                user.setName(record.name());
+                user.setAge(record.age());
+                changedUsers.add(user);
+            }
+        }
+        userDao.updateAll(changedUsers);
+        inserted += userDao.saveAll(newUsers);
+        updated += changedUsers.size();
+    }
+
+    @Override
+    public MergeCounts finish() {
+        return new MergeCounts(inserted, updated);
+    }
+
+    @Override
+    public void abort() {
+        // Записанные пачки уже зафиксированы, отменять нечего
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Быстрый путь импорта для PostgreSQL: записи передаются одним потоком COPY FROM STDIN
+// во временную таблицу, затем одним INSERT ... SELECT сливаются с users.
+// Повторы email в файле схлопываются (остаётся последняя строка), уже существующие email обновляются
+// через ON CONFLICT, их created_at не меняется. Всё выполняется в одной транзакции:
+// при ошибке таблица users остаётся прежней.
+class CopyImportSink implements ImportSink {
+
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMP TABLE users_import "
+            + "(line bigint, name varchar(100), email varchar(100), age integer) ON COMMIT DROP";
+    private static final String COPY = "COPY users_import (line, name, email, age) FROM STDIN WITH (FORMAT csv)";
+    // Память на сортировку DISTINCT ON только для этой транзакции
+    private static final String SET_WORK_MEM = "SET LOCAL work_mem = '256MB'";
+    // ID берутся из users_seq по одному на строку. Шаг последовательности - 50, а Hibernate использует
+    // блок из 50 ID, заканчивающийся полученным значением, поэтому такие ID с его блоками не пересекаются.
+    // xmax = 0 только у вставленных строк, у обновлённых ON CONFLICT - нет
+    private static final String MERGE = """
+            WITH merged AS (
+                INSERT INTO users (id, name, email, age, created_at)
+                SELECT nextval('users_seq'), name, email, age, LOCALTIMESTAMP
+                FROM (SELECT DISTINCT ON (email) name, email, age
+                      FROM users_import
+                      ORDER BY email, line DESC) latest
+                ON CONFLICT (email) DO UPDATE SET name = EXCLUDED.name, age = EXCLUDED.age
+                RETURNING (xmax = 0) AS inserted
+            )
+            SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM merged
+            """;
+
+    private final Connection connection;
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private CopyImportSink(Connection connection, CopyIn copyIn) {
+        this.connection = connection;
+        this.copyIn = copyIn;
+    }
+
+    // null, если соединение не к PostgreSQL и COPY недоступен.
+    // Соединение занято до finish/abort, поэтому источник - пул импорта без поиска утечек
+    // (HibernateUtil.getImportDataSource), а не основной пул
+    static CopyImportSink open(DataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                connection.close();
+                return null;
+            }
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY);
+            return new CopyImportSink(connection, copyIn);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(List<UserRecord> records) throws SQLException {
+        for (UserRecord record : records) {
+            buffer.append(record.line()).append(',');
+            appendQuoted(record.name());
+            buffer.append(',');
+            appendQuoted(record.email());
+            buffer.append(',');
+            if (record.age() != null) {
+                buffer.append(record.age().intValue());
+            }
+            buffer.append('\n');
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        buffer.setLength(0);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public MergeCounts finish() throws SQLException {
+        copyIn.endCopy();
+        MergeCounts counts;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(SET_WORK_MEM);
+            try (ResultSet resultSet = statement.executeQuery(MERGE)) {
+                resultSet.next();
+                counts = new MergeCounts(resultSet.getLong(1), resultSet.getLong(2));
+            }
+        }
+        connection.commit();
+        connection.close();
+        return counts;
+    }
+
+    @Override
+    public void abort() {
+        try {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            connection.rollback();
+        } catch (SQLException e) {
+            // Соединение всё равно закрывается; пул откатит незавершённую транзакцию
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    // В CSV-формате COPY пустое поле без кавычек означает NULL, поэтому строки всегда в кавычках
+    private void appendQuoted(String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Ошибка закрытия не важна: исходная ошибка уже передаётся вызывающему
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Разбор JSONL: каждая строка - объект с полями name, email и необязательным age (число или null)
+class JsonlUserRecordParser implements UserRecordParser {
+
+    // ObjectMapper после настройки потокобезопасен
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public UserRecord parse(long line, String text) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректный JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Строка не является JSON-объектом");
+        }
+        JsonNode age = node.path("age");
+        if (!age.isMissingNode() && !age.isNull() && !(age.isIntegralNumber() && age.canConvertToInt())) {
+            throw new IllegalArgumentException("Возраст не целое число: " + age);
+        }
+        return UserRecord.validated(line,
+                textOrNull(node.get("name")),
+                textOrNull(node.get("email")),
+                age.isMissingNode() || age.isNull() ? null : age.intValue());
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node != null && node.isTextual() ? node.textValue() : null;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import java.util.regex.Pattern;
+
+// Проверенная строка файла импорта. line - номер строки в файле: при повторе email побеждает последняя
+public record UserRecord(long line, String name, String email, Integer age) {
+
+    // Ограничения колонок таблицы users (см. User)
+    private static final int MAX_LENGTH = 100;
+    private static final int MAX_AGE = 150;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    // Проверка значений строки; IllegalArgumentException с причиной, если строка некорректна
+    public static UserRecord validated(long line, String name, String email, Integer age) {
+        String trimmedName = name == null ? "" : name.trim();
+        String trimmedEmail = email == null ? "" : email.trim();
+        if (trimmedName.isEmpty()) {
+            throw new IllegalArgumentException("Имя не может быть пустым");
+        }
+        if (trimmedName.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Имя длиннее " + MAX_LENGTH + " символов");
+        }
+        if (trimmedEmail.length() > MAX_LENGTH || !EMAIL.matcher(trimmedEmail).matches()) {
+            throw new IllegalArgumentException("Некорректный email: " + trimmedEmail);
+        }
+        if (age != null && (age < 0 || age > MAX_AGE)) {
+            throw new IllegalArgumentException("Некорректный возраст: " + age);
+        }
+        return new UserRecord(line, trimmedName, trimmedEmail, age);
+    }
+}
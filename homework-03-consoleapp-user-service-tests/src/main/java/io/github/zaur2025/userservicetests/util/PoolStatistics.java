@@ -0,0 +1,22 @@
+package io.github.zaur2025.userservicetests.util;
+
+// Снимок состояния пула соединений: текущие счётчики HikariCP и накопленные метрики ожидания
+public record PoolStatistics(int activeConnections,
+                             int idleConnections,
+                             int totalConnections,
+                             int threadsAwaitingConnection,
+                             long acquiredConnections,
+                             double averageWaitMillis,
+                             double maxWaitMillis,
+                             double averageUsageMillis,
+                             long connectionTimeouts) {
+
+    @Override
+    public String toString() {
+        return String.format("Соединения: активных %d, свободных %d, всего %d, ждут потоков %d%n"
+                        + "Выдано соединений: %d, ожидание: среднее %.3f мс, максимум %.3f мс%n"
+                        + "Среднее время использования: %.3f мс, тайм-аутов: %d",
+                activeConnections, idleConnections, totalConnections, threadsAwaitingConnection,
+                acquiredConnections, averageWaitMillis, maxWaitMillis, averageUsageMillis, connectionTimeouts);
+    }
+}
@@ -2,14 +2,17 @@ package io.github.zaur2025.userservicetests.dao;
 
 import io.github.zaur2025.userservicetests.entity.User;
 import io.github.zaur2025.userservicetests.util.HibernateUtil;
+import io.github.zaur2025.userservicetests.util.PoolStatistics;
 import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.*;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -195,4 +198,169 @@ public class UserDaoIntegrationTest {
         assertEquals(2, deletedCount);
         assertTrue(userDao.findAll().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(11)
+    void poolStatistics_ShouldShowConnectionsReturnedToPool_AfterDaoCalls() {
+        // Arrange
+        long acquiredBefore = HibernateUtil.getPoolStatistics().acquiredConnections();
+
+        // Act
+        userDao.save(new User("Пул", "pool@mail.ru", 30));
+        userDao.findAll();
+        PoolStatistics statistics = HibernateUtil.getPoolStatistics();
+
+        // Assert
+        assertTrue(statistics.acquiredConnections() >= acquiredBefore + 2);
+        assertEquals(0, statistics.activeConnections());
+        assertEquals(0, statistics.connectionTimeouts());
+        assertTrue(statistics.totalConnections() > 0);
+    }
+
+    @Test
+    @Order(12)
+    void saveAll_ShouldPersistAllUsersAndAssignIds_WhenMoreThanOneBatch() {
+        // Arrange - больше двух пачек по 50, чтобы проверить сброс и очистку сессии
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            users.add(new User("Пакет " + i, "batch" + i + "@mail.ru", 20 + i % 50));
+        }
+
+        // Act
+        int saved = userDao.saveAll(users);
+
+        // Assert
+        assertEquals(120, saved);
+        assertEquals(120, userDao.findAll().size());
+        assertEquals(120, users.stream().map(User::getId).distinct().count());
+        assertEquals("Пакет 77", userDao.findById(users.get(77).getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @Order(13)
+    void updateAll_ShouldUpdateAllUsers_WhenUsersAreDetached() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            users.add(new User("До " + i, "update" + i + "@mail.ru", 30));
+        }
+        userDao.saveAll(users);
+        users.forEach(user -> user.setAge(user.getAge() + 1));
+
+        // Act
+        userDao.updateAll(users);
+
+        // Assert
+        assertTrue(userDao.findAll().stream().allMatch(user -> user.getAge() == 31));
+    }
+
+    @Test
+    @Order(14)
+    void updateAll_ShouldThrow_WhenUserHasNoId() {
+        // Arrange
+        List<User> users = List.of(new User("Без ID", "noid@mail.ru", 40));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userDao.updateAll(users));
+    }
+
+    @Test
+    @Order(15)
+    void streamAll_ShouldReturnAllUsersInIdOrder_WhenFetchSizeIsSmallerThanTable() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            users.add(new User("Поток " + i, "stream" + i + "@mail.ru", 25));
+        }
+        userDao.saveAll(users);
+
+        // Act
+        List<Long> ids;
+        try (Stream<User> stream = userDao.streamAll(7)) {
+            ids = stream.map(User::getId).toList();
+        }
+
+        // Assert
+        assertEquals(users.stream().map(User::getId).sorted().toList(), ids);
+        assertEquals(0, HibernateUtil.getPoolStatistics().activeConnections());
+    }
+
+    @Test
+    @Order(16)
+    void streamAll_ShouldReleaseConnection_WhenStreamClosedEarly() {
+        // Arrange
+        userDao.save(new User("Первый", "first@mail.ru", 20));
+        userDao.save(new User("Второй", "second@mail.ru", 21));
+
+        // Act
+        Optional<User> first;
+        try (Stream<User> stream = userDao.streamAll()) {
+            first = stream.findFirst();
+        }
+
+        // Assert
+        assertEquals("Первый", first.orElseThrow().getName());
+        assertEquals(0, HibernateUtil.getPoolStatistics().activeConnections());
+    }
+
+    @Test
+    @Order(17)
+    void streamAll_ShouldThrow_WhenFetchSizeIsNotPositive() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userDao.streamAll(0));
+    }
+
+    @Test
+    @Order(18)
+    void findPage_ShouldWalkAllUsersWithoutGaps_WhenPagingAfterLastId() {
+        // Arrange
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            users.add(new User("Страница " + i, "page" + i + "@mail.ru", 30));
+        }
+        userDao.saveAll(users);
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        Long afterId = null;
+        List<User> page;
+        do {
+            page = userDao.findPage(afterId, 10);
+            pageSizes.add(page.size());
+            page.forEach(user -> ids.add(user.getId()));
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 10);
+
+        // Assert
+        assertEquals(List.of(10, 10, 5), pageSizes);
+        assertEquals(users.stream().map(User::getId).sorted().toList(), ids);
+    }
+
+    @Test
+    @Order(19)
+    void findPageByEmail_ShouldReturnUsersAfterEmailInEmailOrder() {
+        // Arrange
+        userDao.save(new User("В", "c@mail.ru", 20));
+        userDao.save(new User("А", "a@mail.ru", 20));
+        userDao.save(new User("Б", "b@mail.ru", 20));
+
+        // Act
+        List<User> first = userDao.findPageByEmail(null, 2);
+        List<User> second = userDao.findPageByEmail(first.get(1).getEmail(), 2);
+
+        // Assert
+        assertEquals(List.of("a@mail.ru", "b@mail.ru"), first.stream().map(User::getEmail).toList());
+        assertEquals(List.of("c@mail.ru"), second.stream().map(User::getEmail).toList());
+    }
+
+    @Test
+    @Order(20)
+    void findPage_ShouldThrow_WhenLimitIsNotPositive() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userDao.findPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> userDao.findPageByEmail(null, -1));
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import io.github.zaur2025.userservicetests.dao.UserDao;
+import io.github.zaur2025.userservicetests.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchImportSinkTest {
+
+    @Mock
+    private UserDao userDao;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldKeepLastRowPerEmail_AndSplitNewAndExistingUsers() {
+        // Arrange - ivan@mail.ru уже есть в БД, maria@mail.ru дважды в пачке
+        User existing = new User("Иван", "ivan@mail.ru", 20);
+        existing.setId(1L);
+        when(userDao.findAllByEmail(anyCollection())).thenReturn(List.of(existing));
+        when(userDao.saveAll(anyCollection())).thenAnswer(invocation -> invocation.<Collection<User>>getArgument(0).size());
+        BatchImportSink sink = new BatchImportSink(userDao);
+
+        // Act
+        sink.write(List.of(
+                new UserRecord(2, "Мария", "maria@mail.ru", 30),
+                new UserRecord(3, "Иван Петров", "ivan@mail.ru", 21),
+                new UserRecord(4, "Мария Иванова", "maria@mail.ru", 31)));
+        ImportSink.MergeCounts counts = sink.finish();
+
+        // Assert
+        ArgumentCaptor<Collection<String>> emails = ArgumentCaptor.forClass(Collection.class);
+        verify(userDao).findAllByEmail(emails.capture());
+        assertEquals(List.of("maria@mail.ru", "ivan@mail.ru"), new ArrayList<>(emails.getValue()));
+
+        ArgumentCaptor<Collection<User>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(userDao).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        User maria = saved.getValue().iterator().next();
+        assertEquals("Мария Иванова", maria.getName());
+        assertEquals(31, maria.getAge());
+
+        ArgumentCaptor<Collection<User>> updated = ArgumentCaptor.forClass(Collection.class);
+        verify(userDao).updateAll(updated.capture());
+        assertEquals(List.of(existing), new ArrayList<>(updated.getValue()));
+        assertEquals("Иван Петров", existing.getName());
+        assertEquals(21, existing.getAge());
+
+        assertEquals(new ImportSink.MergeCounts(1, 1), counts);
+    }
+
+    @Test
+    void finish_ShouldSumCountsAcrossChunks() {
+        // Arrange
+        when(userDao.findAllByEmail(anyCollection())).thenReturn(List.of());
+        when(userDao.saveAll(anyCollection())).thenReturn(2, 1);
+        BatchImportSink sink = new BatchImportSink(userDao);
+
+        // Act
+        sink.write(List.of(new UserRecord(2, "Иван", "ivan@mail.ru", 25),
+                new UserRecord(3, "Мария", "maria@mail.ru", 30)));
+        sink.write(List.of(new UserRecord(4, "Пётр", "petr@mail.ru", null)));
+
+        // Assert
+        assertEquals(new ImportSink.MergeCounts(3, 0), sink.finish());
+        verify(userDao, times(2)).saveAll(anyCollection());
+    }
+}
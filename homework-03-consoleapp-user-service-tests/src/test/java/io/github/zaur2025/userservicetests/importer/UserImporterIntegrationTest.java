@@ -0,0 +1,156 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import io.github.zaur2025.userservicetests.dao.UserDao;
+import io.github.zaur2025.userservicetests.entity.User;
+import io.github.zaur2025.userservicetests.util.HibernateUtil;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+public class UserImporterIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @TempDir
+    Path tempDir;
+
+    private UserDao userDao;
+    private UserImporter importer;
+
+    @BeforeAll
+    static void beforeAll() {
+        System.setProperty("hibernate.connection.url", postgres.getJdbcUrl());
+        System.setProperty("hibernate.connection.username", postgres.getUsername());
+        System.setProperty("hibernate.connection.password", postgres.getPassword());
+        HibernateUtil.resetSessionFactory();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        HibernateUtil.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        userDao = new UserDao();
+        userDao.deleteAll();
+        PrintStream out = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        importer = new UserImporter(userDao, HibernateUtil.getImportDataSource(), out, 2);
+    }
+
+    @Test
+    void importFile_ShouldMergeThroughCopy_WhenEmailsRepeatOrAlreadyExist() throws Exception {
+        // Arrange
+        User existing = new User("Старое имя", "ivan@mail.ru", 20);
+        userDao.save(existing);
+        Path file = writeCsv();
+
+        // Act
+        ImportResult result = importer.importFile(file, true);
+
+        // Assert
+        assertTrue(result.copy());
+        assertMergedState(result, existing);
+    }
+
+    @Test
+    void importFile_ShouldProduceSameState_WhenBatchFallbackIsUsed() throws Exception {
+        // Arrange
+        User existing = new User("Старое имя", "ivan@mail.ru", 20);
+        userDao.save(existing);
+        Path file = writeCsv();
+
+        // Act
+        ImportResult result = importer.importFile(file, false);
+
+        // Assert
+        assertFalse(result.copy());
+        assertMergedState(result, existing);
+    }
+
+    @Test
+    void importFile_ShouldLoadManyChunks_AndKeepSequenceUsableForHibernate() throws Exception {
+        // Arrange - больше одной пачки проверки (10 000 строк) в JSONL
+        int count = 25_000;
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add("{\"name\": \"Пользователь " + i + "\", \"email\": \"user" + i + "@mail.ru\", \"age\": " + (i % 100) + "}");
+        }
+        Path file = tempDir.resolve("users.jsonl");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        // Act
+        ImportResult result = importer.importFile(file, true);
+        Long savedId = userDao.save(new User("После импорта", "after@mail.ru", 40));
+
+        // Assert
+        assertEquals(count, result.lines());
+        assertEquals(count, result.inserted());
+        assertEquals(0, result.invalid());
+        Set<Long> ids = new HashSet<>();
+        try (var users = userDao.streamAll()) {
+            users.forEach(user -> assertTrue(ids.add(user.getId()), "Повтор ID " + user.getId()));
+        }
+        assertEquals(count + 1, ids.size());
+        assertTrue(ids.contains(savedId));
+    }
+
+    // Файл с повтором email, обновлением существующего пользователя, пустой и некорректными строками
+    private Path writeCsv() throws Exception {
+        Path file = tempDir.resolve("users.csv");
+        Files.write(file, List.of(
+                "name,email,age",
+                "Мария,maria@mail.ru,30",
+                "\"Петров, Иван\",ivan@mail.ru,21",
+                "",
+                "Без почты,,25",
+                "Мария Иванова,maria@mail.ru,",
+                "Пётр,petr@mail.ru,200",
+                "Пётр,petr@mail.ru,40"), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private void assertMergedState(ImportResult result, User existing) {
+        assertEquals(7, result.lines());
+        assertEquals(2, result.invalid());
+        assertEquals(2, result.inserted());
+        assertEquals(1, result.updated());
+
+        Map<String, User> users = userDao.findAll().stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+        assertEquals(Set.of("ivan@mail.ru", "maria@mail.ru", "petr@mail.ru"), users.keySet());
+
+        User ivan = users.get("ivan@mail.ru");
+        assertEquals(existing.getId(), ivan.getId());
+        assertEquals("Петров, Иван", ivan.getName());
+        assertEquals(21, ivan.getAge());
+        assertNotNull(ivan.getCreatedAt());
+
+        User maria = users.get("maria@mail.ru");
+        assertEquals("Мария Иванова", maria.getName());
+        assertNull(maria.getAge());
+        assertEquals(40, users.get("petr@mail.ru").getAge());
+    }
+}
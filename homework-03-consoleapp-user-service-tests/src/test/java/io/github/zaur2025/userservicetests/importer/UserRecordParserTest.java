@@ -0,0 +1,108 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserRecordParserTest {
+
+    @Test
+    void csvParse_ShouldHandleQuotedCommasAndDoubledQuotes() {
+        // Arrange
+        UserRecordParser parser = UserRecordParser.forFormat(ImportFormat.CSV, "name,email,age");
+
+        // Act
+        UserRecord record = parser.parse(2, "\"Петров, Иван \"\"Ваня\"\"\",ivan@mail.ru,25");
+
+        // Assert
+        assertEquals(new UserRecord(2, "Петров, Иван \"Ваня\"", "ivan@mail.ru", 25), record);
+    }
+
+    @Test
+    void csvParse_ShouldMapColumnsByHeader_WhenHeaderHasBomAndOtherOrder() {
+        // Arrange - Excel сохраняет UTF-8 с BOM; лишние колонки пропускаются
+        UserRecordParser parser = UserRecordParser.forFormat(ImportFormat.CSV, "\uFEFFEmail, age ,city,Name");
+
+        // Act
+        UserRecord withAge = parser.parse(2, "ivan@mail.ru,25,Москва,Иван");
+        UserRecord withoutAge = parser.parse(3, "maria@mail.ru,,Казань,Мария");
+
+        // Assert
+        assertEquals(new UserRecord(2, "Иван", "ivan@mail.ru", 25), withAge);
+        assertEquals(new UserRecord(3, "Мария", "maria@mail.ru", null), withoutAge);
+    }
+
+    @Test
+    void csvParse_ShouldThrow_WhenColumnCountDiffers() {
+        // Arrange
+        UserRecordParser parser = UserRecordParser.forFormat(ImportFormat.CSV, "name,email,age");
+
+        // Act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(2, "Иван,ivan@mail.ru"));
+
+        // Assert
+        assertEquals("Ожидалось колонок: 3, получено: 2", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(3, "Иван,ivan@mail.ru,25,лишнее"));
+    }
+
+    @Test
+    void csvParse_ShouldThrow_WhenQuoteIsNotClosedOrAgeIsNotNumber() {
+        // Arrange
+        UserRecordParser parser = UserRecordParser.forFormat(ImportFormat.CSV, "name,email,age");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(2, "\"Иван,ivan@mail.ru,25"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(3, "Иван,ivan@mail.ru,двадцать"));
+    }
+
+    @Test
+    void csvParser_ShouldThrow_WhenHeaderIsMissingOrHasNoRequiredColumns() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> UserRecordParser.forFormat(ImportFormat.CSV, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserRecordParser.forFormat(ImportFormat.CSV, "name,age"));
+    }
+
+    @Test
+    void jsonlParse_ShouldReadObject_WithOptionalAge() {
+        // Arrange
+        UserRecordParser parser = UserRecordParser.forFormat(ImportFormat.JSONL, null);
+
+        // Act
+        UserRecord withAge = parser.parse(1, "{\"name\": \"Иван\", \"email\": \"ivan@mail.ru\", \"age\": 25}");
+        UserRecord nullAge = parser.parse(2, "{\"name\": \"Мария\", \"email\": \"maria@mail.ru\", \"age\": null}");
+        UserRecord missingAge = parser.parse(3, "{\"email\": \"petr@mail.ru\", \"name\": \"Пётр\", \"extra\": 1}");
+
+        // Assert
+        assertEquals(new UserRecord(1, "Иван", "ivan@mail.ru", 25), withAge);
+        assertEquals(new UserRecord(2, "Мария", "maria@mail.ru", null), nullAge);
+        assertEquals(new UserRecord(3, "Пётр", "petr@mail.ru", null), missingAge);
+    }
+
+    @Test
+    void jsonlParse_ShouldThrow_WhenLineIsInvalid() {
+        // Arrange
+        UserRecordParser parser = UserRecordParser.forFormat(ImportFormat.JSONL, null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(1, "{\"name\": \"Иван\""));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(2, "[1, 2]"));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(3, "{\"name\": \"Иван\", \"email\": \"ivan@mail.ru\", \"age\": 25.5}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(4, "{\"name\": \"Иван\", \"email\": \"ivan@mail.ru\", \"age\": \"25\"}"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(5, "{\"name\": 42, \"email\": \"ivan@mail.ru\"}"));
+    }
+
+    @Test
+    void fromFileName_ShouldDetectFormatByExtension() {
+        // Act & Assert
+        assertEquals(ImportFormat.CSV, ImportFormat.fromFileName(Path.of("users.CSV")));
+        assertEquals(ImportFormat.JSONL, ImportFormat.fromFileName(Path.of("dir", "users.jsonl")));
+        assertEquals(ImportFormat.JSONL, ImportFormat.fromFileName(Path.of("users.ndjson")));
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.fromFileName(Path.of("users.txt")));
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.zaur2025.userservicetests.importer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserRecordTest {
+
+    @Test
+    void validated_ShouldTrimNameAndEmail() {
+        // Act
+        UserRecord record = UserRecord.validated(7, "  Иван Петров ", " ivan@mail.ru ", 25);
+
+        // Assert
+        assertEquals(new UserRecord(7, "Иван Петров", "ivan@mail.ru", 25), record);
+    }
+
+    @Test
+    void validated_ShouldAcceptMissingAgeAndBoundaryAges() {
+        // Act & Assert
+        assertNull(UserRecord.validated(1, "Иван", "ivan@mail.ru", null).age());
+        assertEquals(0, UserRecord.validated(1, "Иван", "ivan@mail.ru", 0).age());
+        assertEquals(150, UserRecord.validated(1, "Иван", "ivan@mail.ru", 150).age());
+    }
+
+    @Test
+    void validated_ShouldThrow_WhenNameIsBlankOrTooLong() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> UserRecord.validated(1, null, "ivan@mail.ru", 25));
+        assertThrows(IllegalArgumentException.class, () -> UserRecord.validated(1, "   ", "ivan@mail.ru", 25));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserRecord.validated(1, "а".repeat(101), "ivan@mail.ru", 25));
+    }
+
+    @Test
+    void validated_ShouldThrow_WhenEmailIsInvalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> UserRecord.validated(1, "Иван", null, 25));
+        assertThrows(IllegalArgumentException.class, () -> UserRecord.validated(1, "Иван", "ivan", 25));
+        assertThrows(IllegalArgumentException.class, () -> UserRecord.validated(1, "Иван", "ivan@@mail.ru", 25));
+        assertThrows(IllegalArgumentException.class, () -> UserRecord.validated(1, "Иван", "iv an@mail.ru", 25));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserRecord.validated(1, "Иван", "a".repeat(95) + "@mail.ru", 25));
+    }
+
+    @Test
+    void validated_ShouldThrow_WhenAgeIsOutOfRange() {
+        // Act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> UserRecord.validated(1, "Иван", "ivan@mail.ru", 151));
+
+        // Assert
+        assertEquals("Некорректный возраст: 151", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> UserRecord.validated(1, "Иван", "ivan@mail.ru", -1));
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.zaur2025.userservicetests.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolMetricsTest {
+
+    @Test
+    void create_ShouldAccumulateWaitAndUsage_WhenTrackerRecordsEvents() {
+        // Arrange
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+        IMetricsTracker tracker = metrics.create("test", null);
+
+        // Act
+        tracker.recordConnectionAcquiredNanos(1_000_000);
+        tracker.recordConnectionAcquiredNanos(3_000_000);
+        tracker.recordConnectionUsageMillis(10);
+        tracker.recordConnectionUsageMillis(30);
+        tracker.recordConnectionTimeout();
+
+        // Assert
+        assertEquals(2, metrics.acquiredConnections());
+        assertEquals(2.0, metrics.averageWaitMillis(), 1e-9);
+        assertEquals(3.0, metrics.maxWaitMillis(), 1e-9);
+        assertEquals(20.0, metrics.averageUsageMillis(), 1e-9);
+        assertEquals(1, metrics.connectionTimeouts());
+    }
+
+    @Test
+    void averageWaitMillis_ShouldReturnZero_WhenNothingAcquired() {
+        // Arrange
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+
+        // Act & Assert
+        assertEquals(0.0, metrics.averageWaitMillis());
+        assertEquals(0.0, metrics.averageUsageMillis());
+        assertEquals(0, metrics.connectionTimeouts());
+    }
+}